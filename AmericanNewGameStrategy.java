@@ -1,6 +1,6 @@
 package model.rules;
 
-import model.Card;
+import java.util.List;
 import model.Dealer;
 import model.Deck;
 import model.Player;
@@ -13,19 +13,24 @@ import model.Player;
 class AmericanNewGameStrategy implements NewGameStrategy {
 
   /**
-   * Starts a new game by dealing initial cards to both the player and the dealer.
-   * The player receives two face-up cards, and the dealer receives one face-up
-   * card and one face-down card.
+   * Starts a new game by dealing initial cards to the players and the dealer.
+   * Every player receives two face-up cards, and the dealer receives one face-up
+   * card and one face-down card. Each round of cards goes to the seats in order
+   * and then to the dealer.
    *
-   * @param deck   The deck of cards to be used.
-   * @param dealer The dealer involved in the game.
-   * @param player The player involved in the game.
+   * @param deck    The deck of cards to be used.
+   * @param dealer  The dealer involved in the game.
+   * @param players The players involved in the game, in seat order.
    * @return True when the initial cards are successfully dealt.
    */
-  public boolean newGame(Deck deck, Dealer dealer, Player player) {
-    dealCard(deck, player, true);  // Första kortet till spelaren, öppet
+  public boolean newGame(Deck deck, Dealer dealer, List<? extends Player> players) {
+    for (int i = 0; i < players.size(); i++) {
+      dealCard(deck, players.get(i), true); // Första kortet till spelarna, öppet
+    }
     dealCard(deck, dealer, true);  // Första kortet till dealern, öppet
-    dealCard(deck, player, true);  // Andra kortet till spelaren, öppet
+    for (int i = 0; i < players.size(); i++) {
+      dealCard(deck, players.get(i), true); // Andra kortet till spelarna, öppet
+    }
     dealCard(deck, dealer, false); // Andra kortet till dealern, dolt
 
     return true;
@@ -35,8 +40,6 @@ class AmericanNewGameStrategy implements NewGameStrategy {
    * function to get card and show it.
    */
   private void dealCard(Deck deck, Player player, boolean isVisible) {
-    Card.Mutable card = deck.getCard();
-    card.show(isVisible);
-    player.dealCard(card);
+    player.dealCard(deck.getCard(), isVisible);
   }
 }
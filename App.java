@@ -1,7 +1,12 @@
 package controller;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import model.Game;
+import view.CommandReader;
 import view.EnglishView;
+import view.Frame;
+import view.Pacer;
 import view.View;
 
 /**
@@ -11,16 +16,31 @@ public class App {
   /**
    * Starts the game.
 
-  * @param args Not used.
+  * @param args Optional script file with commands to play, without delays, instead of the console.
+  * @throws IOException If the script cannot be read.
+  * @throws InterruptedException If interrupted while the last notifications are rendered.
   */
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException, InterruptedException {
 
     Game g = new Game();
-    View v = new EnglishView(); // new SwedishView();
-    Player ctrl = new Player(g, v);
+    View v;
+    if (args.length > 0) {
+      v = new EnglishView(Frame.console(), Pacer.none(), CommandReader.open(Paths.get(args[0])));
+    } else {
+      v = new EnglishView(); // new SwedishView();
+    }
+    // Let the view render on its own thread so the game never waits for it; the
+    // controller's output goes through the same thread, in order.
+    RenderThreadView render = new RenderThreadView(v);
+    g.setObserverExecutor(render.getExecutor());
+    Player ctrl = new Player(g, render);
 
-    while (ctrl.play()) {
+    try {
+      while (ctrl.play()) {
 
+      }
+    } finally {
+      render.close();
     }
   }
 }
@@ -7,19 +7,35 @@ import model.Player;
  * The dealer will continue to draw cards as long as their score is below a
  * certain limit.
  */
-class BasicHitStrategy implements HitStrategy {
-  private static final int hitLimit = 17;
+public class BasicHitStrategy implements HitStrategy {
+  private final int hitLimit;
+
+  /**
+   * Creates the strategy with the usual limit of 17.
+   */
+  public BasicHitStrategy() {
+    this(17);
+  }
+
+  /**
+   * Creates the strategy for another limit than 17.
+   *
+   * @param hitLimit The score the dealer stands on.
+   */
+  public BasicHitStrategy(int hitLimit) {
+    this.hitLimit = hitLimit;
+  }
 
   /**
    * Determines whether the dealer should take another card.
    * According to this strategy, the dealer must draw cards until their score
-   * reaches or exceeds 17.
+   * reaches or exceeds the hit limit, 17 by default.
    *
    * @param dealer The dealer whose score is being evaluated.
    * @return True if the dealer's score is less than the hit limit, false
    *         otherwise.
    */
   public boolean doHit(Player dealer) {
-    return dealer.calcScore() < hitLimit;
+    return dealer.getHandValue().getTotal() < hitLimit;
   }
 }
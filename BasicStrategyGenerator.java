@@ -0,0 +1,173 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.HandValue;
+import model.Player;
+import model.rules.Hands;
+import model.rules.HitStrategy;
+import model.rules.RulesFactory;
+import model.rules.WinStrategy;
+
+/**
+ * Works out the best hit or stand decision for every player total, soft or
+ * hard, against every dealer up card, under each combination of rules, and
+ * writes the result as a {@link DecisionTable}.
+ *
+ * <p>The decisions maximise the player's expected result with an infinite
+ * deck (every rank always equally likely). The dealer is played by the
+ * rules' own HitStrategy and the winner decided by the rules' own
+ * WinStrategy, asked about hands built to the totals in question, so the
+ * table follows whatever the rules really say.</p>
+ */
+public class BasicStrategyGenerator {
+
+  // Probability of drawing a card worth 2..11 points, with 11 for the Ace.
+  private static final double[] DRAW = new double[12];
+
+  static {
+    for (int points = 2; points <= 9; points++) {
+      DRAW[points] = 1.0 / 13;
+    }
+    DRAW[10] = 4.0 / 13;
+    DRAW[11] = 1.0 / 13;
+  }
+
+  private final HitStrategy hitRule;
+  private final WinStrategy winRule;
+  private final int maxScore = new Player().getMaxScore();
+  // The dealer's play is assumed to depend only on the hand value, as it does for both hit rules.
+  private final Map<Integer, double[]> dealerMemo = new HashMap<>();
+  private final Map<Integer, Double> playerMemo = new HashMap<>();
+  private double[] dealerFinal; // distribution of the dealer's final total for the current up card
+
+  /**
+   * Creates a generator for one combination of rules.
+   *
+   * @param rules The rules.
+   */
+  public BasicStrategyGenerator(RulesFactory rules) {
+    this.hitRule = rules.getHitRule();
+    this.winRule = rules.getWinRule();
+  }
+
+  /**
+   * Works out the decisions for all cells.
+   *
+   * @return One byte per cell, laid out as described by {@link DecisionTable}, 1 for hit.
+   */
+  public byte[] generate() {
+    byte[] cells = new byte[DecisionTable.CELLS];
+    for (int up = DecisionTable.MIN_UP_CARD; up <= DecisionTable.MAX_UP_CARD; up++) {
+      dealerFinal = dealerDistribution(up, up == 11);
+      playerMemo.clear();
+      for (int soft = 0; soft < 2; soft++) {
+        for (int total = 0; total < DecisionTable.TOTALS; total++) {
+          boolean hit = total < maxScore && hitValue(total, soft == 1) > standValue(total);
+          cells[DecisionTable.cell(total, soft == 1, up)] = (byte) (hit ? 1 : 0);
+        }
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * The expected result of standing: +1 for a player win, -1 for a dealer win.
+   */
+  private double standValue(int total) {
+    Player player = Hands.withValue(total, false);
+    double value = 0;
+    for (int dealerTotal = 0; dealerTotal < dealerFinal.length; dealerTotal++) {
+      if (dealerFinal[dealerTotal] > 0) {
+        boolean dealerWins = winRule.isDealerWinner(Hands.withValue(dealerTotal, false), player);
+        value += dealerFinal[dealerTotal] * (dealerWins ? -1 : 1);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * The expected result of taking one card and then playing on as well as possible.
+   */
+  private double hitValue(int total, boolean soft) {
+    double value = 0;
+    for (int points = 2; points <= 11; points++) {
+      HandValue next = add(total, soft, points);
+      value += DRAW[points] * bestValue(next.getTotal(), next.isSoft());
+    }
+    return value;
+  }
+
+  private double bestValue(int total, boolean soft) {
+    int key = total * 2 + (soft ? 1 : 0);
+    Double memo = playerMemo.get(key);
+    if (memo == null) {
+      double stand = standValue(total);
+      // The dealer deals no more cards to a player on maxScore or more.
+      memo = total < maxScore ? Math.max(stand, hitValue(total, soft)) : stand;
+      playerMemo.put(key, memo);
+    }
+    return memo;
+  }
+
+  /**
+   * The distribution of the dealer's final total, starting from a hand value.
+   */
+  private double[] dealerDistribution(int total, boolean soft) {
+    int key = total * 2 + (soft ? 1 : 0);
+    double[] memo = dealerMemo.get(key);
+    if (memo != null) {
+      return memo;
+    }
+    double[] result = new double[DecisionTable.TOTALS + 11];
+    if (!hitRule.doHit(Hands.withValue(total, soft))) {
+      result[total] = 1;
+    } else {
+      for (int points = 2; points <= 11; points++) {
+        HandValue next = add(total, soft, points);
+        double[] after = dealerDistribution(next.getTotal(), next.isSoft());
+        for (int i = 0; i < result.length; i++) {
+          result[i] += DRAW[points] * after[i];
+        }
+      }
+    }
+    dealerMemo.put(key, result);
+    return result;
+  }
+
+  /**
+   * Adds a card to a hand value, counting an Ace as 1 when 11 would bust.
+   */
+  private HandValue add(int total, boolean soft, int points) {
+    int sum = total + points;
+    int softAces = (soft ? 1 : 0) + (points == 11 ? 1 : 0);
+    while (sum > maxScore && softAces > 0) {
+      sum -= 10;
+      softAces--;
+    }
+    return HandValue.of(sum, softAces > 0);
+  }
+
+  /**
+   * Generates the table for every combination of rules and writes it to a file.
+   *
+   * @param args Optional file name, default {@value DecisionTable#DEFAULT_FILE}.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    Path file = Paths.get(args.length > 0 ? args[0] : DecisionTable.DEFAULT_FILE);
+    List<RulesFactory> combinations = RulesFactory.allCombinations();
+    String[] names = new String[combinations.size()];
+    byte[][] cells = new byte[combinations.size()][];
+    for (int i = 0; i < combinations.size(); i++) {
+      names[i] = combinations.get(i).toString();
+      cells[i] = new BasicStrategyGenerator(combinations.get(i)).generate();
+    }
+    DecisionTable.write(file, names, cells);
+    System.out.println("Wrote " + names.length + " rule sets to " + file);
+  }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A small benchmark harness: warms an operation up, then times it over a
+ * number of iterations and reports the average time and the bytes allocated
+ * per operation, measured with the JVM's per-thread allocation counter.
+ */
+public class Bench {
+
+  /**
+   * An operation to measure.
+   */
+  public interface Op {
+    /**
+     * Runs the operation once.
+     *
+     * @return Any value computed, so the work cannot be optimized away.
+     */
+    long run();
+  }
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private final long warmupNanos;
+  private final long measureNanos;
+  private final int iterations;
+  private long sink;
+
+  /**
+   * Creates a harness.
+   *
+   * @param warmupNanos  How long to warm each operation up.
+   * @param measureNanos How long each measured iteration lasts.
+   * @param iterations   The number of measured iterations.
+   */
+  public Bench(long warmupNanos, long measureNanos, int iterations) {
+    this.warmupNanos = warmupNanos;
+    this.measureNanos = measureNanos;
+    this.iterations = iterations;
+  }
+
+  /**
+   * Returns the column headers matching {@link #run}.
+   *
+   * @return The header line.
+   */
+  public static String header() {
+    return String.format("%-45s %12s %12s %10s", "benchmark", "ns/op", "error", "B/op");
+  }
+
+  /**
+   * Measures an operation and returns a report line.
+   *
+   * @param name      The name of the benchmark.
+   * @param opsPerRun The number of operations one call of op performs.
+   * @param op        The operation.
+   * @return The report line.
+   */
+  public String run(String name, int opsPerRun, Op op) {
+    measure(op, warmupNanos);
+
+    double[] nsPerOp = new double[iterations];
+    long ops = 0;
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      long calls = measure(op, measureNanos);
+      nsPerOp[i] = (double) (System.nanoTime() - start) / (calls * opsPerRun);
+      ops += calls * opsPerRun;
+    }
+    double bytesPerOp = (double) (THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore) / ops;
+
+    double mean = 0;
+    for (double value : nsPerOp) {
+      mean += value / iterations;
+    }
+    double variance = 0;
+    for (double value : nsPerOp) {
+      variance += (value - mean) * (value - mean) / Math.max(1, iterations - 1);
+    }
+    return String.format("%-45s %12.2f %12.2f %10.1f", name, mean, Math.sqrt(variance), bytesPerOp);
+  }
+
+  /**
+   * Calls op in batches until the time is up and returns the number of calls.
+   */
+  private long measure(Op op, long nanos) {
+    long calls = 0;
+    long end = System.nanoTime() + nanos;
+    do {
+      for (int i = 0; i < 1000; i++) {
+        sink += op.run();
+      }
+      calls += 1000;
+    } while (System.nanoTime() < end);
+    return calls;
+  }
+
+  /**
+   * Returns the sum of all values computed, to print at the end of a run.
+   *
+   * @return The sum.
+   */
+  public long getSink() {
+    return sink;
+  }
+}
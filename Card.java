@@ -1,7 +1,10 @@
 package model;
 
 /**
- * Represents an immutable common playing card that can be either visible or hidden (face down).
+ * Represents an immutable common playing card.
+ * There is exactly one instance of every card, shared by all decks; whether a
+ * card is face up or face down is tracked by the hand that holds it. A face
+ * down card is shown as the {@link #HIDDEN} card.
  */
 public class Card {
 
@@ -20,66 +23,83 @@ public class Card {
   }
 
   /**
-   * Represents a mutable playing card that can be shown or hidden.
+   * The number of distinct cards in a deck.
    */
-  public static class Mutable extends Card {
-    /**
-     * Initializing constructor that creates a mutable card, initially hidden.
-     *
-     * @param color The color of the card.
-     * @param value The value of the card.
-     */
-    public Mutable(Color color, Value value) {
-      super(color, value);
-    }
+  public static final int COUNT = Color.Count.ordinal() * Value.Count.ordinal();
+
+  /**
+   * The card shown in place of a card that is face down.
+   */
+  public static final Card HIDDEN = new Card(Color.Hidden, Value.Hidden, -1);
+
+  private static final Card[] CARDS = new Card[COUNT];
 
-    /**
-     * Changes the visibility state of the card.
-     *
-     * @param show True if the card should be shown, false if it should be hidden.
-     */
-    public void show(boolean show) {
-      isHidden = !show;
+  static {
+    Color[] colors = Color.values();
+    Value[] values = Value.values();
+    for (int code = 0; code < COUNT; code++) {
+      CARDS[code] = new Card(colors[code / Value.Count.ordinal()], values[code % Value.Count.ordinal()], code);
     }
   }
 
-  private Color color;
-  private Value value;
-  protected boolean isHidden;
+  private final Color color;
+  private final Value value;
+  private final int code;
+
+  private Card(Color color, Value value, int code) {
+    this.value = value;
+    this.color = color;
+    this.code = code;
+  }
 
   /**
-   * Initializing constructor that creates a hidden card.
+   * Returns the shared instance of a card.
    *
    * @param color The color of the card.
    * @param value The value of the card.
+   * @return The card.
    */
-  public Card(Color color, Value value) {
-    this.value = value;
-    this.color = color;
-    isHidden = true;
+  public static Card get(Color color, Value value) {
+    if (color.ordinal() >= Color.Count.ordinal() || value.ordinal() >= Value.Count.ordinal()) {
+      throw new IllegalArgumentException("Not a playable card: " + value + " of " + color);
+    }
+    return CARDS[color.ordinal() * Value.Count.ordinal() + value.ordinal()];
   }
 
   /**
-   * Returns the color of the card or hidden if the card is face down.
+   * Returns the shared instance of a card from its code.
    *
-   * @return The card color, or Hidden if the card is face down.
+   * @param code The card code, between 0 and 51.
+   * @return The card.
+   */
+  public static Card fromCode(int code) {
+    return CARDS[code];
+  }
+
+  /**
+   * Returns a compact code for the card, between 0 and 51, or -1 for the hidden card.
+   *
+   * @return The card code.
+   */
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the color of the card.
+   *
+   * @return The card color, or Hidden for the hidden card.
    */
   public Color getColor() {
-    if (isHidden) {
-      return Color.Hidden;
-    }
     return color;
   }
 
   /**
-   * Returns the value of the card or hidden if the card is face down.
+   * Returns the value of the card.
    *
-   * @return The card value, or Hidden if the card is face down.
+   * @return The card value, or Hidden for the hidden card.
    */
   public Value getValue() {
-    if (isHidden) {
-      return Value.Hidden;
-    }
     return value;
   }
-}
\ No newline at end of file
+}
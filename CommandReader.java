@@ -0,0 +1,144 @@
+package view;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads commands from a channel through a buffer, one character per
+ * command: p, h, s or q in either case. Any number of commands can be given
+ * on a line, e.g. {@code phhs}; whitespace, commas and semicolons between
+ * them are skipped, and {@code #} starts a comment that runs to the end of
+ * the line. Any other character is an invalid command.
+ *
+ * <p>The same reader takes commands typed at the console and commands from
+ * a script file, so a game can be played from a script at full speed.</p>
+ */
+public final class CommandReader implements Closeable {
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(8192);
+  private boolean inComment;
+  private boolean endOfInput;
+
+  /**
+   * Creates a reader for a channel.
+   *
+   * @param channel The channel to read from.
+   */
+  public CommandReader(ReadableByteChannel channel) {
+    this.channel = channel;
+    buffer.flip(); // start out empty
+  }
+
+  /**
+   * Creates a reader for standard input.
+   *
+   * @return The reader.
+   */
+  public static CommandReader stdin() {
+    return new CommandReader(Channels.newChannel(System.in));
+  }
+
+  /**
+   * Creates a reader for a script file.
+   *
+   * @param script The file.
+   * @return The reader.
+   * @throws IOException If the file cannot be opened.
+   */
+  public static CommandReader open(Path script) throws IOException {
+    return new CommandReader(FileChannel.open(script, StandardOpenOption.READ));
+  }
+
+  /**
+   * Returns the next command, reading more input if none is buffered.
+   *
+   * @return The command, or QUIT at the end of the input.
+   * @throws IOException If the input cannot be read.
+   */
+  public synchronized Command next() throws IOException {
+    while (true) {
+      while (buffer.hasRemaining()) {
+        Command command = parse(buffer.get());
+        if (command != null) {
+          return command;
+        }
+      }
+      if (!fill()) {
+        return Command.QUIT;
+      }
+    }
+  }
+
+  /**
+   * Checks if a command has already been read into the buffer, so
+   * {@link #next()} returns without waiting for input.
+   *
+   * @return True if a command is buffered.
+   */
+  public synchronized boolean hasBuffered() {
+    while (buffer.hasRemaining()) {
+      byte c = buffer.get(buffer.position());
+      if (!inComment && !isSeparator(c) && c != '#') {
+        return true;
+      }
+      parse(buffer.get()); // only skips the separator or comment
+    }
+    return false;
+  }
+
+  private Command parse(byte c) {
+    if (inComment) {
+      inComment = c != '\n';
+      return null;
+    }
+    switch (c) {
+      case 'p':
+      case 'P':
+        return Command.PLAY;
+      case 'h':
+      case 'H':
+        return Command.HIT;
+      case 's':
+      case 'S':
+        return Command.STAND;
+      case 'q':
+      case 'Q':
+        return Command.QUIT;
+      case '#':
+        inComment = true;
+        return null;
+      default:
+        return isSeparator(c) ? null : Command.INVALID;
+    }
+  }
+
+  private static boolean isSeparator(byte c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ',' || c == ';';
+  }
+
+  private boolean fill() throws IOException {
+    if (endOfInput) {
+      return false;
+    }
+    buffer.clear();
+    int read;
+    do {
+      read = channel.read(buffer);
+    } while (read == 0);
+    buffer.flip();
+    endOfInput = read < 0;
+    return !endOfInput;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -2,8 +2,15 @@ package model;
 
 import java.util.ArrayList;
 import java.util.List;
+import metrics.DeckShuffleEvent;
+import metrics.GameMetrics;
+import metrics.HitEvent;
+import metrics.MetricsRegistry;
+import metrics.NewGameEvent;
+import metrics.StandEvent;
 import model.rules.HitStrategy;
 import model.rules.NewGameStrategy;
+import model.rules.RuleSet;
 import model.rules.RulesFactory;
 import model.rules.WinStrategy;
 
@@ -13,11 +20,31 @@ import model.rules.WinStrategy;
  */
 public class Dealer extends Player {
 
+  private static final Card[] NO_CARDS = new Card[0];
+
   private Deck deck;
   private NewGameStrategy newGameRule;
   private HitStrategy hitRule;
   private WinStrategy winStrategy;
-  private List<GameObserver> observers = new ArrayList<>();
+  private final RulesFactory rulesFactory;
+  private int decks;
+  private double penetration;
+  private Shoe shoe; // dealt from round after round
+  private RandomSource random;
+  private final List<Player> seats = new ArrayList<>();
+  private long tableId;
+  private RuleSet ruleSet;
+  private GameMetrics metrics; // null when metrics are off
+  private long rounds;
+  private long roundStart = -1; // nanoTime when the current round is timed
+  // Counts not yet added to the metrics
+  private long pendingRounds;
+  private long pendingShuffles;
+  private long pendingCards;
+  private long pendingScoreCalls;
+  private int cardsCounted; // cards dealt in the round that are already counted
+  private long shufflesCounted; // shuffles of the shoe that are already counted
+  private final DeckComposition visibleComposition = new VisibleComposition();
 
   /**
    * Initializing constructor.
@@ -26,9 +53,40 @@ public class Dealer extends Player {
    * @param rulesFactory The factory that provides the rules.
    */
   public Dealer(RulesFactory rulesFactory) {
+    this(rulesFactory, rulesFactory.getRandomSource());
+  }
+
+  /**
+   * Initializing constructor for a dealer that shuffles with the given random
+   * source, so a seeded source deals the same games every time.
+   *
+   * @param rulesFactory The factory that provides the rules.
+   * @param random       The random source used to shuffle.
+   */
+  public Dealer(RulesFactory rulesFactory, RandomSource random) {
+    this.random = random;
+    this.rulesFactory = rulesFactory;
+    refreshRules();
+  }
+
+  /**
+   * Takes the current rules from the factory, so rules replaced in the
+   * factory apply from the next round.
+   */
+  private void refreshRules() {
     newGameRule = rulesFactory.getNewGameRule();
     hitRule = rulesFactory.getHitRule();
     winStrategy = rulesFactory.getWinRule();
+    RuleSet current = rulesFactory.getRuleSet();
+    decks = current.getDecks();
+    penetration = current.getPenetration();
+    if (current != ruleSet) {
+      if (metrics != null) {
+        addPendingCounts();
+      }
+      ruleSet = current;
+      metrics = MetricsRegistry.ENABLED ? MetricsRegistry.global().forRules(current.getName()) : null;
+    }
   }
 
   /**
@@ -37,15 +95,18 @@ public class Dealer extends Player {
   public Dealer(Dealer another) {
     // Kopiera Player-delen
     super(another);
-    // Ny instans av Deck, om nödvändigt
-    this.deck = new Deck();
+    // The copy is for reading only; it gets an empty deck rather than a new shuffled one
+    this.deck = another.deck == null ? null : new Deck(NO_CARDS);
     // Kopiera reglerna (antag att de är immutabla eller har en djup kopiering)
     this.newGameRule = another.newGameRule;
     this.hitRule = another.hitRule;
     this.winStrategy = another.winStrategy;
-    // Kopiera observatörer
-    this.observers = new ArrayList<>(another.observers);
-
+    this.rulesFactory = another.rulesFactory;
+    this.decks = another.decks;
+    this.penetration = another.penetration;
+    this.random = another.random;
+    this.ruleSet = another.ruleSet;
+    this.tableId = another.tableId;
   }
 
   public Dealer getCopy() {
@@ -53,54 +114,203 @@ public class Dealer extends Player {
   }
 
   /**
-   * Attaches an observer to the dealer.
+   * Sets the server table this dealer plays at, which the flight recorder
+   * events of the dealer and its seats are tagged with.
    *
-   * @param observer The observer to be added.
+   * @param tableId The table id, or 0 for a game that is not a server table.
    */
-  @Override
-  public void attach(GameObserver observer) {
-    if (observer != null) {
-      observers.add(observer);
-    }
+  public void setTableId(long tableId) {
+    this.tableId = tableId;
   }
 
   /**
-   * Detaches an observer from the dealer.
+   * Starts a new game if the game is not currently underway.
    *
-   * @param observer The observer to be removed.
+   * @param player The player to play against.
+   * @return True if the game could be started.
    */
-  @Override
-  public void detach(GameObserver observer) {
-    observers.remove(observer);
+  public boolean newGame(Player player) {
+    if (deck == null || isGameOver()) {
+      seats.clear();
+      seats.add(player);
+      return startGame(null);
+    }
+    return false;
   }
 
   /**
-   * Notifies all observers of a change.
+   * Starts a new game against one player, dealt from a deck that is already
+   * in order, e.g. to replay a recorded round.
+   *
+   * @param player The player to play against.
+   * @param deck   The deck to deal from.
+   * @return True if the game could be started.
    */
-  @Override
-  public void notifyObservers() {
-    for (GameObserver observer : observers) {
-      observer.update();
-    }
+  boolean newGame(Player player, Deck deck) {
+    seats.clear();
+    seats.add(player);
+    return startGame(deck);
   }
 
   /**
-   * Starts a new game if the game is not currently underway.
+   * Starts a new game for several players sharing the deck, if the game is
+   * not currently underway. The cards are dealt seat by seat in the order of
+   * the list, and the dealer plays one hand against all of them.
    *
-   * @param player The player to play against.
+   * @param players The players to play against, one per seat.
    * @return True if the game could be started.
    */
-  public boolean newGame(Player player) {
+  public boolean newGame(List<? extends Player> players) {
     if (deck == null || isGameOver()) {
-      deck = new Deck();
-      clearHand();
-      player.clearHand();
-      notifyObservers(); // Notify observers about game start
-      return newGameRule.newGame(deck, this, player);
+      seats.clear();
+      seats.addAll(players);
+      return startGame(null);
     }
     return false;
   }
 
+  /**
+   * Continues a saved game against one player, dealing from a saved deck.
+   *
+   * @param player The player, with the hand already restored.
+   * @param deck   The deck, or null if no game had been started.
+   */
+  void restore(Player player, Deck deck) {
+    this.deck = deck;
+    shoe = deck instanceof Shoe ? (Shoe) deck : null;
+    cardsCounted = deck == null ? 0 : deck.getRoundCardCount();
+    shufflesCounted = shoe == null ? 0 : shoe.getShuffles();
+    seats.clear();
+    seats.add(player);
+  }
+
+  /**
+   * Starts a round with the current rules, dealing from the given deck or,
+   * if it is null, from the shoe.
+   */
+  private boolean startGame(Deck deck) {
+    NewGameEvent event = new NewGameEvent();
+    event.begin();
+    if (metrics != null) {
+      countLastRound();
+    }
+    refreshRules();
+    boolean timed = metrics != null && (++rounds & (GameMetrics.SAMPLE_EVERY - 1)) == 0;
+    long start = timed ? System.nanoTime() : -1;
+    if (deck != null) {
+      this.deck = deck;
+    } else {
+      prepareShoe();
+      this.deck = shoe;
+    }
+    if (metrics != null) {
+      pendingRounds++;
+      if (timed) {
+        addPendingCounts();
+      }
+    }
+    roundStart = start;
+    cardsCounted = 0;
+    clearHand();
+    setTable(tableId, ruleSet.getName());
+    for (int i = 0; i < seats.size(); i++) {
+      seats.get(i).clearHand();
+      seats.get(i).setTable(tableId, ruleSet.getName());
+      seats.get(i).setSeat(i);
+    }
+    if (getEventStream() != null) {
+      getEventStream().roundStarted();
+    }
+    notifyObservers(); // Notify observers about game start
+    boolean started = newGameRule.newGame(this.deck, this, seats);
+    if (event.shouldCommit()) {
+      event.tableId = tableId;
+      event.rules = ruleSet.getName();
+      event.seats = seats.size();
+      event.cardsDealt = this.deck.getRoundCardCount();
+      event.commit();
+    }
+    return started;
+  }
+
+  /**
+   * Makes the shoe ready for a round: a new shoe if there is none or the
+   * rules deal from a different one, otherwise the same shoe, reshuffled in
+   * place if the cut card has come out. Every shuffle is timed; they are
+   * rare enough that the clock costs little per round.
+   */
+  private void prepareShoe() {
+    boolean replace = shoe == null || shoe.getDecks() != decks || shoe.getPenetration() != penetration;
+    if (!replace && !shoe.isCutCardOut()) {
+      shoe.startRound();
+      return;
+    }
+    DeckShuffleEvent event = new DeckShuffleEvent();
+    event.begin();
+    long start = metrics != null ? System.nanoTime() : 0;
+    if (replace) {
+      shoe = new Shoe(random, decks, penetration);
+      shufflesCounted = 0;
+    } else {
+      shoe.startRound();
+    }
+    if (metrics != null) {
+      metrics.shoeShuffled(System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.tableId = tableId;
+      event.rules = ruleSet.getName();
+      event.decks = decks;
+      event.cards = shoe.size();
+      event.commit();
+    }
+  }
+
+  /**
+   * Counts the cards dealt, the shuffles and the score calls of the round
+   * that is ending, before the next one starts. The seats are already those
+   * of the new round, which at a table that plays on are the same players;
+   * calls made by a player who left are not counted.
+   */
+  private void countLastRound() {
+    if (this.deck != null) {
+      pendingCards += this.deck.getRoundCardCount() - cardsCounted;
+      cardsCounted = this.deck.getRoundCardCount();
+    }
+    if (shoe != null) {
+      pendingShuffles += shoe.getShuffles() - shufflesCounted;
+      shufflesCounted = shoe.getShuffles();
+    }
+    pendingScoreCalls += takeScoreCalls();
+    for (int i = 0; i < seats.size(); i++) {
+      pendingScoreCalls += seats.get(i).takeScoreCalls();
+    }
+  }
+
+  /**
+   * Adds the counts of the rounds played so far that are not yet in the
+   * metrics. Without observers the dealer adds its counts only every
+   * {@value GameMetrics#SAMPLE_EVERY} rounds, so call this when done with
+   * the dealer or the last of its rounds are never counted.
+   */
+  public void flushMetrics() {
+    if (metrics != null) {
+      countLastRound();
+      addPendingCounts();
+    }
+  }
+
+  /**
+   * Adds the counts of the last rounds to the metrics of the current rules.
+   */
+  private void addPendingCounts() {
+    metrics.count(pendingRounds, pendingShuffles, pendingCards, pendingScoreCalls);
+    pendingRounds = 0;
+    pendingShuffles = 0;
+    pendingCards = 0;
+    pendingScoreCalls = 0;
+  }
+
   /**
    * Gives the player one more card if possible.
    *
@@ -109,13 +319,99 @@ public class Dealer extends Player {
    */
   public boolean hit(Player player) {
     if (deck != null && player.calcScore() < player.getMaxScore() && !isGameOver()) {
+      HitEvent event = new HitEvent();
+      event.begin();
       newCard(player, true);
-      
+      if (event.shouldCommit()) {
+        event.tableId = tableId;
+        event.rules = ruleSet.getName();
+        event.playerScore = player.calcScore();
+        event.cardsDealt = deck.getRoundCardCount();
+        event.commit();
+      }
       return true;
     }
     return false;
   }
 
+  /**
+   * Returns the cards a player has not seen, and the running counts of the
+   * cards seen since the shoe was last shuffled. The dealer's face-down card
+   * is counted as still in the shoe until it is turned up.
+   *
+   * @return The deck composition, or null before the first round.
+   */
+  public DeckComposition getDeckComposition() {
+    return deck == null ? null : visibleComposition;
+  }
+
+  /**
+   * The deck's counts with the dealer's face-down cards put back.
+   */
+  private final class VisibleComposition implements DeckComposition {
+
+    @Override
+    public int getCardsRemaining() {
+      int cards = deck.getCardsRemaining();
+      for (int i = 0; i < handSize; i++) {
+        if (isHidden(i)) {
+          cards++;
+        }
+      }
+      return cards;
+    }
+
+    @Override
+    public int getRemaining(Card.Value value) {
+      int cards = deck.getRemaining(value);
+      for (int i = 0; i < handSize; i++) {
+        if (isHidden(i) && hand[i].getValue() == value) {
+          cards++;
+        }
+      }
+      return cards;
+    }
+
+    @Override
+    public int getHiLoCount() {
+      int count = deck.getHiLoCount();
+      for (int i = 0; i < handSize; i++) {
+        if (isHidden(i)) {
+          count -= Deck.hiLoTag(hand[i].getValue());
+        }
+      }
+      return count;
+    }
+
+    @Override
+    public double getTrueCount() {
+      int left = getCardsRemaining();
+      return left == 0 ? 0 : getHiLoCount() * (double) Card.COUNT / left;
+    }
+
+    @Override
+    public int getKoCount() {
+      int count = deck.getKoCount();
+      for (int i = 0; i < handSize; i++) {
+        if (isHidden(i)) {
+          count -= Deck.koTag(hand[i].getValue());
+        }
+      }
+      return count;
+    }
+  }
+
+  Deck getDeck() {
+    return deck;
+  }
+
+  /**
+   * Returns the rules of the current round.
+   */
+  RuleSet getRuleSet() {
+    return ruleSet;
+  }
+
   /**
    * Checks if the dealer is the winner compared to a player.
    *
@@ -137,33 +433,51 @@ public class Dealer extends Player {
 
   /**
    * The player has chosen to take no more cards, it is the dealer's turn.
+   * With several seats, the dealer plays once, after all players are done.
    *
    * @return True if the dealer completed their turn, false otherwise.
    */
   public boolean stand() {
     if (deck != null) {
+      StandEvent event = new StandEvent();
+      event.begin();
+      int handBefore = handSize;
       showHand();
+      if (getEventStream() != null) {
+        getEventStream().dealerTurn();
+      }
       while (hitRule.doHit(this)) {
-        Card.Mutable card = deck.getCard();
-        card.show(true);
-        dealCard(card);
+        dealCard(deck.getCard(), true);
         notifyObservers(); // Notify observers when a card is dealt
       }
+      if (getEventStream() != null) {
+        for (int i = 0; i < seats.size(); i++) {
+          Player player = seats.get(i);
+          getEventStream().roundOver(i, isDealerWinner(player), player.calcScore(), calcScore());
+        }
+      }
+      notifyGameOver();
+      if (roundStart >= 0) {
+        metrics.roundFinished(System.nanoTime() - roundStart);
+        roundStart = -1;
+      }
+      if (metrics != null && hasObservers()) {
+        countLastRound();
+        addPendingCounts();
+      }
+      if (event.shouldCommit()) {
+        event.tableId = tableId;
+        event.rules = ruleSet.getName();
+        event.dealerCardsTaken = handSize - handBefore;
+        event.dealerScore = calcScore();
+        event.cardsDealt = deck.getRoundCardCount();
+        event.commit();
+      }
       return true;
     }
     return false;
   }
 
-  /**
-   * Returns the dealer's hand.
-   *
-   * @return The dealer's hand.
-   */
-  @Override
-  public Iterable<Card> getHand() {
-    return new ArrayList<>(hand);
-  }
-
   /**
    * Calculates the score of the dealer's hand.
    *
@@ -174,13 +488,16 @@ public class Dealer extends Player {
     return super.calcScore();
   }
 
+  @Override
+  protected boolean isDealer() {
+    return true;
+  }
+
   /**
    * get new card, nd deal it to player.
    */
 
   public void newCard(Player player, boolean show) {
-    Card.Mutable card = deck.getCard();
-    player.dealCard(card);
-    card.show(show);
+    player.dealCard(deck.getCard(), show);
   }
 }
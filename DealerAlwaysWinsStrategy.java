@@ -18,13 +18,15 @@ public class DealerAlwaysWinsStrategy implements WinStrategy {
    */
   @Override
   public boolean isDealerWinner(Player dealer, Player player) {
-    if (player.calcScore() > dealer.getMaxScore()) {
+    int playerScore = player.getHandValue().getTotal();
+    int dealerScore = dealer.getHandValue().getTotal();
+    if (playerScore > dealer.getMaxScore()) {
       return false;
-    } else if (dealer.calcScore() > dealer.getMaxScore()) {
+    } else if (dealerScore > dealer.getMaxScore()) {
       return false;
-    } else if (dealer.calcScore() == player.calcScore()) {
+    } else if (dealerScore == playerScore) {
       return true; // Dealer wins on a tie.
     }
-    return dealer.calcScore() >= player.calcScore();
+    return dealerScore >= playerScore;
   }
 }
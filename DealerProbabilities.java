@@ -0,0 +1,165 @@
+package simulation;
+
+import java.util.HashMap;
+import java.util.Map;
+import model.Card;
+import model.DeckComposition;
+import model.Player;
+import model.rules.Hands;
+import model.rules.HitStrategy;
+
+/**
+ * Computes the exact distribution of the dealer's final total from the up
+ * card and the cards still left to draw, by following every possible draw.
+ *
+ * <p>Card counts are given per point value: index 2 to 10 for Two to Ten
+ * (Jack, Queen and King count as Ten) and index 11 for the Ace. Results are
+ * kept in a cache keyed on the remaining counts together with the dealer's
+ * hand value, so a later query from the same shoe reuses most of the work
+ * of the earlier ones.</p>
+ *
+ * <p>The dealer plays by the given HitStrategy, asked about hands built to
+ * each value; rules that look at more than the hand value are not
+ * supported.</p>
+ */
+public class DealerProbabilities {
+
+  /** Index of the bust probability in a distribution. */
+  public static final int BUST = 22;
+
+  /** The largest number of decks a shoe may have. */
+  public static final int MAX_DECKS = 8;
+
+  private static final int MAX_TOTAL = 31;
+
+  private final byte[] hits = new byte[2 * (MAX_TOTAL + 1)]; // 0 not asked yet, 1 stand, 2 hit
+  private final HitStrategy hitRule;
+  private final long[] weights = new long[12];
+  private final long stateWeight;
+  private final Map<Long, double[]> memo = new HashMap<>();
+
+  /**
+   * Creates the calculator for a dealer rule.
+   *
+   * @param hitRule The dealer rule.
+   */
+  public DealerProbabilities(HitStrategy hitRule) {
+    this.hitRule = hitRule;
+    // Mixed radix key: one digit per point value, sized for MAX_DECKS, then the hand value
+    long weight = 1;
+    for (int points = 2; points <= 11; points++) {
+      weights[points] = weight;
+      weight *= (points == 10 ? 16 : 4) * MAX_DECKS + 1;
+    }
+    stateWeight = weight;
+  }
+
+  /**
+   * Returns the counts of a full shoe.
+   *
+   * @param decks The number of decks.
+   * @return The counts per point value.
+   */
+  public static int[] fullShoe(int decks) {
+    int[] counts = new int[12];
+    for (int points = 2; points <= 11; points++) {
+      counts[points] = (points == 10 ? 16 : 4) * decks;
+    }
+    return counts;
+  }
+
+  /**
+   * Computes the distribution of the dealer's final total. The hole card, if
+   * any, is counted as not yet drawn.
+   *
+   * @param upCard    The points of the dealer's up card, 11 for an Ace.
+   * @param remaining The cards left to draw per point value; not changed.
+   * @return The probability of each final total, with {@link #BUST} for all totals over 21.
+   * @throws IllegalArgumentException If there are more cards than {@link #MAX_DECKS} can hold.
+   */
+  public double[] distribution(int upCard, int[] remaining) {
+    int[] counts = new int[12];
+    long key = 0;
+    int cards = 0;
+    for (int points = 2; points <= 11; points++) {
+      if (remaining[points] < 0 || remaining[points] > (points == 10 ? 16 : 4) * MAX_DECKS) {
+        throw new IllegalArgumentException("Bad count for " + points + ": " + remaining[points]);
+      }
+      counts[points] = remaining[points];
+      key += counts[points] * weights[points];
+      cards += counts[points];
+    }
+    return distribution(upCard, upCard == 11, counts, cards, key).clone();
+  }
+
+  /**
+   * Computes the distribution of the dealer's final total from the cards left
+   * in a deck.
+   *
+   * @param upCard The points of the dealer's up card, 11 for an Ace.
+   * @param deck   The cards left to draw.
+   * @return The probability of each final total, with {@link #BUST} for all totals over 21.
+   */
+  public double[] distribution(int upCard, DeckComposition deck) {
+    int[] counts = new int[12];
+    Card.Value[] values = Card.Value.values();
+    for (int i = 0; i < Card.Value.Count.ordinal(); i++) {
+      Card.Value value = values[i];
+      int points = value == Card.Value.Ace ? 11 : Math.min(10, i + 2);
+      counts[points] += deck.getRemaining(value);
+    }
+    return distribution(upCard, counts);
+  }
+
+  /**
+   * Clears the cache, e.g. when the shoe is reshuffled.
+   */
+  public void clear() {
+    memo.clear();
+  }
+
+  private double[] distribution(int total, boolean soft, int[] counts, int cards, long key) {
+    int state = total * 2 + (soft ? 1 : 0);
+    long fullKey = key + state * stateWeight;
+    double[] result = memo.get(fullKey);
+    if (result != null) {
+      return result;
+    }
+    result = new double[BUST + 1];
+    if (total > 21) {
+      result[BUST] = 1;
+    } else if (cards == 0 || !doHit(state, total, soft)) {
+      result[total] = 1;
+    } else {
+      for (int points = 2; points <= 11; points++) {
+        if (counts[points] == 0) {
+          continue;
+        }
+        double p = (double) counts[points] / cards;
+        int sum = total + points;
+        int softAces = (soft ? 1 : 0) + (points == 11 ? 1 : 0);
+        while (sum > 21 && softAces > 0) {
+          sum -= 10;
+          softAces--;
+        }
+        counts[points]--;
+        double[] after = distribution(Math.min(sum, MAX_TOTAL), softAces > 0, counts, cards - 1,
+            key - weights[points]);
+        counts[points]++;
+        for (int i = 0; i < result.length; i++) {
+          result[i] += p * after[i];
+        }
+      }
+    }
+    memo.put(fullKey, result);
+    return result;
+  }
+
+  private boolean doHit(int state, int total, boolean soft) {
+    if (hits[state] == 0) {
+      Player hand = Hands.withValue(total, soft);
+      hits[state] = (byte) (hitRule.doHit(hand) ? 2 : 1);
+    }
+    return hits[state] == 2;
+  }
+}
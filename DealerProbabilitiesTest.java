@@ -0,0 +1,47 @@
+package simulation;
+
+import model.rules.HitStrategy;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+import model.rules.Soft17HitStrategy;
+
+/**
+ * Checks the dealer's final total distribution for a dealer who reaches a
+ * soft 12, under limits where a soft 12 hits but a soft 13 stands. The
+ * project has no test framework, so the test is run as a program and exits
+ * with an error if a check fails.
+ */
+public final class DealerProbabilitiesTest {
+
+  private DealerProbabilitiesTest() {
+  }
+
+  /**
+   * Runs the test.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    HitStrategy[] rules = {
+        new Soft17HitStrategy(12),
+        RuleSet.of(13, false, RulesFactory.DealVariant.AMERICAN, RulesFactory.WinVariant.DEALER_WINS_TIES),
+    };
+    for (int i = 0; i < rules.length; i++) {
+      // Ace up with an Ace and a Five left: Ace, Ace is a soft 12 that hits the Five for 17;
+      // Ace, Five is a soft 16 that stands.
+      int[] remaining = new int[12];
+      remaining[11] = 1;
+      remaining[5] = 1;
+      double[] distribution = new DealerProbabilities(rules[i]).distribution(11, remaining);
+      check(distribution[17] == 0.5 && distribution[16] == 0.5 && distribution[12] == 0,
+          "rule " + i + ": P(12)=" + distribution[12] + " P(16)=" + distribution[16] + " P(17)=" + distribution[17]);
+    }
+    System.out.println("ok");
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new AssertionError(message);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.HandValue;
+import model.rules.RulesFactory;
+
+/**
+ * Precomputed hit or stand decisions for each combination of rules, read
+ * from a file written by {@link BasicStrategyGenerator}.
+ *
+ * <p>The file holds a header followed by one block of cells per rule set. A
+ * block has one byte per player total 0..31, soft or hard, and dealer up card
+ * 2..11 (11 for an Ace); the byte is 1 to hit. The file is memory-mapped when
+ * loaded, so a decision is one read from the mapped buffer at a computed
+ * offset.</p>
+ */
+public final class DecisionTable {
+
+  /** The default name of the table file. */
+  public static final String DEFAULT_FILE = "basic-strategy.bin";
+
+  static final int TOTALS = 32;
+  static final int MIN_UP_CARD = 2;
+  static final int MAX_UP_CARD = 11;
+  static final int UP_CARDS = 16; // 2..11 used, rounded up to keep the offsets shifts
+  static final int CELLS = 2 * TOTALS * UP_CARDS;
+
+  private static final int MAGIC = 0x424a5354; // "BJST"
+  private static final short VERSION = 1;
+  private static final int NAME_BYTES = 48;
+
+  private final MappedByteBuffer buffer;
+  private final String[] names;
+  private final int cellsStart;
+
+  private DecisionTable(MappedByteBuffer buffer, String[] names, int cellsStart) {
+    this.buffer = buffer;
+    this.names = names;
+    this.cellsStart = cellsStart;
+  }
+
+  static int cell(int total, boolean soft, int upCard) {
+    return ((soft ? TOTALS : 0) + total) * UP_CARDS + upCard;
+  }
+
+  /**
+   * Maps a table file into memory.
+   *
+   * @param file The file.
+   * @return The table.
+   * @throws IOException If the file cannot be read or is not a decision table.
+   */
+  public static DecisionTable load(Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    buffer.order(ByteOrder.BIG_ENDIAN);
+    if (buffer.remaining() < 8 || buffer.getInt(0) != MAGIC) {
+      throw new IOException(file + " is not a decision table");
+    }
+    if (buffer.getShort(4) != VERSION) {
+      throw new IOException(file + " has unsupported version " + buffer.getShort(4));
+    }
+    int count = buffer.getShort(6);
+    int cellsStart = 8 + count * NAME_BYTES;
+    if (buffer.capacity() != cellsStart + count * CELLS) {
+      throw new IOException(file + " is truncated");
+    }
+    String[] names = new String[count];
+    byte[] name = new byte[NAME_BYTES];
+    for (int i = 0; i < count; i++) {
+      buffer.get(8 + i * NAME_BYTES, name);
+      int length = 0;
+      while (length < NAME_BYTES && name[length] != 0) {
+        length++;
+      }
+      names[i] = new String(name, 0, length, StandardCharsets.US_ASCII);
+    }
+    return new DecisionTable(buffer, names, cellsStart);
+  }
+
+  static void write(Path file, String[] names, byte[][] cells) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(8 + names.length * (NAME_BYTES + CELLS));
+    buffer.putInt(MAGIC).putShort(VERSION).putShort((short) names.length);
+    for (String name : names) {
+      byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+      if (bytes.length > NAME_BYTES) {
+        throw new IllegalArgumentException("Rule set name too long: " + name);
+      }
+      buffer.put(bytes).put(new byte[NAME_BYTES - bytes.length]);
+    }
+    for (byte[] block : cells) {
+      buffer.put(block);
+    }
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Returns the policy for a combination of rules. The lookup of the rule set
+   * is done once here, not per decision.
+   *
+   * @param rules The rules.
+   * @return The policy.
+   * @throws IllegalArgumentException If the table has no entry for the rules.
+   */
+  public PlayerPolicy policy(RulesFactory rules) {
+    String name = rules.toString();
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        int base = cellsStart + i * CELLS;
+        return (player, dealerScore) -> doHit(base, player, dealerScore);
+      }
+    }
+    throw new IllegalArgumentException("No decisions for " + name);
+  }
+
+  private boolean doHit(int base, HandValue player, int dealerScore) {
+    int total = Math.min(player.getTotal(), TOTALS - 1);
+    int upCard = Math.max(MIN_UP_CARD, Math.min(dealerScore, MAX_UP_CARD));
+    return buffer.get(base + cell(total, player.isSoft(), upCard)) != 0;
+  }
+}
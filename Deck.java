@@ -1,34 +1,91 @@
 package model;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Arrays;
 
 /**
  * Represents a deck of playing cards.
+ * The cards are kept in an array and dealt from a cursor, so dealing a card
+ * does not have to move the remaining cards.
+ *
+ * <p>The deck also keeps the number of cards left of each value and the
+ * Hi-Lo and KO running counts, updated as each card is dealt, so they can be
+ * read at any time without looking at the dealt hands. Every card that
+ * leaves the deck is counted, including cards dealt face down; see
+ * {@link Dealer#getDeckComposition()} for the counts a player can see.</p>
  */
-public class Deck {
+public class Deck implements DeckComposition {
 
-  private List<Card.Mutable> cards;
+  // Count tags per Card.Value ordinal, Two to Ace.
+  private static final int[] HI_LO = {1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, -1};
+  private static final int[] KO = {1, 1, 1, 1, 1, 1, 0, 0, -1, -1, -1, -1, -1};
+
+  private final Card[] cards;
+  private int next;
+  private int roundStart; // the first card of the current round
+  private final int[] remaining = new int[Card.Value.Count.ordinal()];
+  private int hiLoCount;
+  private int koCount;
 
   /**
    * Creates a deck with 52 cards of every color and value in random order.
    */
   public Deck() {
-    cards = new LinkedList<Card.Mutable>();
+    this(RandomSource.threadLocal());
+  }
 
-    for (int colIx = 0; colIx < Card.Color.Count.ordinal(); colIx++) {
-      for (int valIx = 0; valIx < Card.Value.Count.ordinal(); valIx++) {
-        Card.Mutable c = new Card.Mutable(Card.Color.values()[colIx], Card.Value.values()[valIx]);
-        addCard(c);
-      }
+  /**
+   * Creates a deck with 52 cards of every color and value, shuffled with the
+   * given random source.
+   *
+   * @param random The random source used to shuffle the deck.
+   */
+  public Deck(RandomSource random) {
+    this(random, 1);
+  }
+
+  /**
+   * Creates a deck of several full decks shuffled together, e.g. the six
+   * decks of a casino shoe.
+   *
+   * @param random The random source used to shuffle the deck.
+   * @param decks  The number of 52 card decks.
+   */
+  public Deck(RandomSource random, int decks) {
+    if (decks < 1) {
+      throw new IllegalArgumentException("At least one deck is needed");
     }
+    cards = new Card[Card.COUNT * decks];
 
-    shuffle();
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = Card.fromCode(i % Card.COUNT);
+    }
+
+    shuffle(random);
+    resetCounts();
   }
 
-  private void addCard(Card.Mutable cardToAdd) {
-    cards.add(cardToAdd);
+  /**
+   * Creates a deck that deals the given cards in order, without shuffling.
+   *
+   * @param cards The cards of the deck, first card first.
+   */
+  Deck(Card[] cards) {
+    this(cards, 0);
+  }
+
+  /**
+   * Creates a deck from saved cards, of which the first ones have already been dealt.
+   *
+   * @param cards The cards of the deck, first card first.
+   * @param next  The number of cards already dealt.
+   */
+  Deck(Card[] cards, int next) {
+    if (next < 0 || next > cards.length) {
+      throw new IllegalArgumentException("Bad deck position: " + next);
+    }
+    this.cards = cards;
+    this.next = next;
+    resetCounts();
   }
 
   /**
@@ -36,19 +93,167 @@ public class Deck {
    *
    * @return the card to get and remove.
    */
-  public Card.Mutable getCard() {
-    Card.Mutable c = cards.get(0);
-    cards.remove(0);
+  public Card getCard() {
+    if (next == cards.length) {
+      throw new IllegalStateException("The deck is empty");
+    }
+    Card card = cards[next++];
+    int value = card.getValue().ordinal();
+    remaining[value]--;
+    hiLoCount += HI_LO[value];
+    koCount += KO[value];
+    return card;
+  }
+
+  /**
+   * Returns the Hi-Lo tag of a card value.
+   */
+  static int hiLoTag(Card.Value value) {
+    return HI_LO[value.ordinal()];
+  }
+
+  /**
+   * Returns the KO tag of a card value.
+   */
+  static int koTag(Card.Value value) {
+    return KO[value.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards dealt from the deck.
+   */
+  int getDealtCount() {
+    return next;
+  }
+
+  /**
+   * Returns the position of the first card dealt in the current round. A
+   * deck that is only dealt from for one round starts it at 0.
+   */
+  int getRoundStart() {
+    return roundStart;
+  }
+
+  /**
+   * Returns the number of cards dealt in the current round.
+   */
+  int getRoundCardCount() {
+    return next - roundStart;
+  }
+
+  /**
+   * Starts a new round at the next card.
+   */
+  void markRoundStart() {
+    roundStart = next;
+  }
+
+  /**
+   * Sets where the current round started, for a deck restored from a save.
+   */
+  void restoreRoundStart(int roundStart) {
+    if (roundStart < 0 || roundStart > next) {
+      throw new IllegalArgumentException("Bad round start: " + roundStart);
+    }
+    this.roundStart = roundStart;
+  }
+
+  /**
+   * Gathers every card and shuffles the whole deck in place.
+   */
+  void reshuffle(RandomSource random) {
+    next = 0;
+    roundStart = 0;
+    shuffle(random);
+    resetCounts();
+  }
 
-    return c;
+  /**
+   * Moves the cards of the current round to the front, in the order they
+   * were dealt, and shuffles the cards of earlier rounds in place behind
+   * them, so a round that has run out of cards can go on.
+   */
+  void collectDiscards(RandomSource random) {
+    int inPlay = next - roundStart;
+    for (int i = 0; i < inPlay; i++) {
+      Card c = cards[i];
+      cards[i] = cards[roundStart + i];
+      cards[roundStart + i] = c;
+    }
+    roundStart = 0;
+    next = inPlay;
+    shuffle(random);
+    resetCounts();
   }
 
-  private void shuffle() {
-    for (int i = 0; i < 1017; i++) {
-      int index = ThreadLocalRandom.current().nextInt(cards.size());
-      Card.Mutable c = cards.get(index);
-      cards.remove(index);
-      addCard(c);
+  /**
+   * Returns the number of cards in the deck, dealt or not.
+   */
+  int size() {
+    return cards.length;
+  }
+
+  /**
+   * Returns a card by its position in the deck; the cards before
+   * {@link #getDealtCount()} have been dealt, in that order.
+   */
+  Card getCardAt(int index) {
+    return cards[index];
+  }
+
+  @Override
+  public int getCardsRemaining() {
+    return cards.length - next;
+  }
+
+  @Override
+  public int getRemaining(Card.Value value) {
+    return remaining[value.ordinal()];
+  }
+
+  @Override
+  public int getHiLoCount() {
+    return hiLoCount;
+  }
+
+  @Override
+  public double getTrueCount() {
+    int left = getCardsRemaining();
+    return left == 0 ? 0 : hiLoCount * (double) Card.COUNT / left;
+  }
+
+  @Override
+  public int getKoCount() {
+    return koCount;
+  }
+
+  /**
+   * Fisher-Yates shuffle of the cards that are still in the deck.
+   */
+  private void shuffle(RandomSource random) {
+    for (int i = cards.length - 1; i > next; i--) {
+      int index = next + random.nextInt(i - next + 1);
+      Card c = cards[index];
+      cards[index] = cards[i];
+      cards[i] = c;
+    }
+  }
+
+  /**
+   * Counts the cards that are still in the deck and the running counts of the dealt ones.
+   */
+  private void resetCounts() {
+    Arrays.fill(remaining, 0);
+    hiLoCount = 0;
+    koCount = 4 - 4 * (cards.length / Card.COUNT);
+    for (int i = 0; i < cards.length; i++) {
+      int value = cards[i].getValue().ordinal();
+      if (i >= next) {
+        remaining[value]++;
+      } else {
+        hiLoCount += HI_LO[value];
+        koCount += KO[value];
+      }
     }
   }
 
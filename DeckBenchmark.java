@@ -0,0 +1,93 @@
+package benchmark;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import model.Card;
+import model.Deck;
+
+/**
+ * Measures the cost of building, shuffling and dealing a deck, comparing the
+ * current array backed deck with the old linked list version.
+ */
+public class DeckBenchmark {
+
+  private static final int WARMUP_ROUNDS = 200_000;
+  private static final int MEASURED_ROUNDS = 1_000_000;
+
+  private static int sink;
+
+  /**
+   * Runs the benchmark and prints the average time per deck.
+   *
+   * @param args Optional number of measured rounds.
+   */
+  public static void main(String[] args) {
+    int rounds = args.length > 0 ? Integer.parseInt(args[0]) : MEASURED_ROUNDS;
+
+    run(WARMUP_ROUNDS, () -> dealAll(new LinkedListDeck()));
+    run(WARMUP_ROUNDS, () -> dealAll(new Deck()));
+
+    report("linked list, new + shuffle",
+        run(rounds, () -> sink += new LinkedListDeck().hashCode()), rounds);
+    report("array, new + shuffle",
+        run(rounds, () -> sink += new Deck().hashCode()), rounds);
+    report("linked list, new + shuffle + deal 52",
+        run(rounds, () -> dealAll(new LinkedListDeck())), rounds);
+    report("array, new + shuffle + deal 52",
+        run(rounds, () -> dealAll(new Deck())), rounds);
+
+    System.out.println("(sink " + sink + ")");
+  }
+
+  private static long run(int rounds, Runnable body) {
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      body.run();
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static void report(String name, long nanos, int rounds) {
+    System.out.printf("%-40s %10.1f ns/deck%n", name, (double) nanos / rounds);
+  }
+
+  private static void dealAll(Deck deck) {
+    for (int i = 0; i < 52; i++) {
+      sink += deck.getCard().hashCode();
+    }
+  }
+
+  private static void dealAll(LinkedListDeck deck) {
+    for (int i = 0; i < 52; i++) {
+      sink += deck.getCard().hashCode();
+    }
+  }
+
+  /**
+   * The previous deck implementation, kept here as the baseline.
+   */
+  private static class LinkedListDeck {
+    private List<Card> cards = new LinkedList<>();
+
+    LinkedListDeck() {
+      for (int colIx = 0; colIx < Card.Color.Count.ordinal(); colIx++) {
+        for (int valIx = 0; valIx < Card.Value.Count.ordinal(); valIx++) {
+          cards.add(Card.get(Card.Color.values()[colIx], Card.Value.values()[valIx]));
+        }
+      }
+      for (int i = 0; i < 1017; i++) {
+        int index = ThreadLocalRandom.current().nextInt(cards.size());
+        Card c = cards.get(index);
+        cards.remove(index);
+        cards.add(c);
+      }
+    }
+
+    Card getCard() {
+      Card c = cards.get(0);
+      cards.remove(0);
+      return c;
+    }
+  }
+}
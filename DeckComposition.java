@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * Read-only view of the cards left in a deck and the running counts of the
+ * cards dealt from it.
+ */
+public interface DeckComposition {
+
+  /**
+   * Returns the number of cards left in the deck.
+   *
+   * @return The number of cards.
+   */
+  int getCardsRemaining();
+
+  /**
+   * Returns the number of cards of a value left in the deck.
+   *
+   * @param value The value.
+   * @return The number of cards.
+   */
+  int getRemaining(Card.Value value);
+
+  /**
+   * Returns the Hi-Lo running count of the cards dealt so far: +1 for Two to
+   * Six, -1 for Ten to Ace.
+   *
+   * @return The running count.
+   */
+  int getHiLoCount();
+
+  /**
+   * Returns the Hi-Lo count per deck left to deal.
+   *
+   * @return The true count, or 0 if the deck is empty.
+   */
+  double getTrueCount();
+
+  /**
+   * Returns the KO running count of the cards dealt so far: +1 for Two to
+   * Seven, -1 for Ten to Ace, starting from the usual 4 - 4 × decks.
+   *
+   * @return The running count.
+   */
+  int getKoCount();
+}
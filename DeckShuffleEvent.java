@@ -0,0 +1,22 @@
+package metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A shoe being shuffled before a round, or created when the rules change.
+ */
+@Name("blackjack.DeckShuffle")
+@Label("Deck Shuffle")
+@Description("Shuffling the shoe when the cut card has come out")
+public final class DeckShuffleEvent extends TableEvent {
+
+  /** The number of 52 card decks shuffled together. */
+  @Label("Decks")
+  public int decks;
+
+  /** The number of cards in the deck. */
+  @Label("Cards")
+  public int cards;
+}
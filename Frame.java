@@ -0,0 +1,107 @@
+package view;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Collects the text of one screen update and writes it to the console in a
+ * single write when the frame is flushed. The buffers are reused from frame
+ * to frame.
+ *
+ * <p>Like {@link java.io.PrintStream}, a frame does not throw when the
+ * output fails, e.g. when it is piped to a program that has exited; use
+ * {@link #checkError()}.</p>
+ */
+public final class Frame {
+
+  private final Writer out;
+  private final StringBuilder text = new StringBuilder(1024);
+  private char[] chars = new char[1024];
+  private boolean error;
+
+  /**
+   * Creates a frame that writes to the given writer.
+   *
+   * @param out The writer.
+   */
+  public Frame(Writer out) {
+    this.out = out;
+  }
+
+  /**
+   * Creates a frame that writes to standard output.
+   *
+   * @return The frame.
+   */
+  public static Frame console() {
+    Charset charset = System.console() != null ? System.console().charset() : Charset.defaultCharset();
+    return new Frame(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), charset));
+  }
+
+  /**
+   * Adds text to the frame.
+   *
+   * @param value The text.
+   * @return This frame.
+   */
+  public synchronized Frame append(String value) {
+    text.append(value);
+    return this;
+  }
+
+  /**
+   * Adds a number to the frame.
+   *
+   * @param value The number.
+   * @return This frame.
+   */
+  public synchronized Frame append(int value) {
+    text.append(value);
+    return this;
+  }
+
+  /**
+   * Adds text and a line break to the frame.
+   *
+   * @param value The text.
+   * @return This frame.
+   */
+  public synchronized Frame line(String value) {
+    text.append(value).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes the frame to the output and starts a new, empty frame.
+   */
+  public synchronized void flush() {
+    int length = text.length();
+    if (length == 0) {
+      return;
+    }
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+    text.getChars(0, length, chars, 0);
+    text.setLength(0);
+    try {
+      out.write(chars, 0, length);
+      out.flush();
+    } catch (IOException e) {
+      error = true;
+    }
+  }
+
+  /**
+   * Checks if writing to the output has failed.
+   *
+   * @return True if a write has failed.
+   */
+  public synchronized boolean checkError() {
+    return error;
+  }
+}
@@ -1,5 +1,12 @@
 package model;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+
 /**
  * Represents the main game logic for a Blackjack game.
  * Manages interactions between a dealer and a player, including game rules
@@ -7,23 +14,50 @@ package model;
  */
 public class Game {
 
+  /** The largest number of bytes {@link #writeState(ByteBuffer)} writes. */
+  public static final int MAX_STATE_BYTES = 1024;
+
+  private static final int STATE_MAGIC = 0x424a4753; // "BJGS"
+  // 2 adds where the round started in the shoe, 3 saves the rules themselves instead of a combination index
+  private static final short STATE_VERSION = 3;
+
   private Dealer dealer;
   private Player player;
   private int playerWins;
   private int dealerWins;
+  private GameSnapshot snapshot;
+  private GameEventStream events;
+  private final RulesFactory rulesFactory;
+  private RuleSet rules;
+  private RoundJournal journal;
+  private final byte[] commands = new byte[RoundJournal.MAX_COMMANDS];
+  private int commandCount;
+  private boolean recorded;
 
   /**
    * Constructor that creates a new game instance with a dealer and player.
    */
   public Game() {
-    dealer = new Dealer(new model.rules.RulesFactory());
+    this(new RulesFactory());
+  }
+
+  /**
+   * Constructor that creates a new game instance played by the given rules.
+   *
+   * @param rulesFactory The factory that provides the rules.
+   */
+  public Game(RulesFactory rulesFactory) {
+    dealer = new Dealer(rulesFactory);
     player = new Player();
+    this.rulesFactory = rulesFactory;
+    rules = rulesFactory.getRuleSet();
     playerWins = 0;
     dealerWins = 0;
   }
 
   /**
-   * Gets the player in the game.
+   * Gets a copy of the player in the game.
+   * Prefer {@link #getSnapshot()}, which does not copy the player.
    *
    * @return The player.
    */
@@ -32,7 +66,8 @@ public class Game {
   }
 
   /**
-   * Gets the dealer in the game.
+   * Gets a copy of the dealer in the game.
+   * Prefer {@link #getSnapshot()}, which does not copy the dealer.
    *
    * @return The dealer.
    */
@@ -40,6 +75,23 @@ public class Game {
     return dealer.getCopy();
   }
 
+  /**
+   * Returns a read-only snapshot of the game. The snapshot shares the cards
+   * of the live hands instead of copying them, and the same snapshot is
+   * returned as long as nothing has changed.
+   *
+   * @return The snapshot.
+   */
+  public GameSnapshot getSnapshot() {
+    HandSnapshot playerHand = player.snapshot();
+    HandSnapshot dealerHand = dealer.snapshot();
+    boolean gameOver = isGameOver();
+    if (snapshot == null || !snapshot.isSameState(playerHand, dealerHand, gameOver, playerWins, dealerWins)) {
+      snapshot = new GameSnapshot(playerHand, dealerHand, gameOver, playerWins, dealerWins);
+    }
+    return snapshot;
+  }
+
   /**
    * Checks if the game has ended.
    *
@@ -72,7 +124,13 @@ public class Game {
    * @return True if a new game could be started.
    */
   public boolean newGame() {
-    return dealer.newGame(player);
+    if (dealer.newGame(player)) {
+      rules = dealer.getRuleSet(); // the rules may have been replaced
+      commandCount = 0;
+      recorded = false;
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -81,7 +139,11 @@ public class Game {
    * @return True if the player got a new card.
    */
   public boolean hit() {
-    return dealer.hit(player);
+    if (dealer.hit(player)) {
+      record(RoundJournal.HIT);
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -90,7 +152,31 @@ public class Game {
    * @return True if the dealer has the initiative.
    */
   public boolean stand() {
-    return dealer.stand();
+    if (dealer.stand()) {
+      record(RoundJournal.STAND);
+      if (journal != null && !recorded) {
+        recorded = true;
+        journal.append(rules, commands, commandCount, dealer.getDeck(), dealer.isDealerWinner(player),
+            player.calcScore(), dealer.calcScore());
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void record(byte command) {
+    if (commandCount < commands.length) {
+      commands[commandCount++] = command;
+    }
+  }
+
+  /**
+   * Records every round that ends from now on in a journal.
+   *
+   * @param journal The journal, or null to stop recording.
+   */
+  public void setJournal(RoundJournal journal) {
+    this.journal = journal;
   }
 
   /**
@@ -99,7 +185,7 @@ public class Game {
    * @return The dealer's cards.
    */
   public Iterable<Card> getDealerHand() {
-    return dealer.getHand();
+    return dealer.snapshot();
   }
 
   /**
@@ -108,7 +194,7 @@ public class Game {
    * @return The player's cards.
    */
   public Iterable<Card> getPlayerHand() {
-    return player.getHand();
+    return player.snapshot();
   }
 
   /**
@@ -148,8 +234,138 @@ public class Game {
   }
 
   /**
-   * register a new card observer for player and dealer.
+   * Delivers observer notifications from the player and the dealer on the
+   * given executor, so the game never waits for a view. Notifications are
+   * delivered one at a time, in the order they happened, even if the
+   * executor has many threads.
+   *
+   * @param executor The executor, or null to notify on the game thread.
+   */
+  public void setObserverExecutor(Executor executor) {
+    Executor serial = executor == null ? null : new SerialExecutor(executor);
+    player.setObserverExecutor(serial);
+    dealer.setObserverExecutor(serial);
+  }
+
+  /**
+   * Returns the stream of typed events for this game: round started, each
+   * card dealt, the dealer's turn and the result. The stream is created on
+   * first use and delivers events on the common fork-join pool; until then
+   * the game publishes nothing.
+   *
+   * @return The event stream.
+   */
+  public synchronized GameEventStream getEvents() {
+    if (events == null) {
+      events = new GameEventStream(ForkJoinPool.commonPool(), 1024);
+      player.setEventStream(events);
+      dealer.setEventStream(events);
+    }
+    return events;
+  }
+
+  /**
+   * register a new card observer for player and dealer. The observer is
+   * told about every card dealt to either hand and when the game is over.
    */
   public void cardObserver(GameObserver observer) {
+    player.attach(observer);
+    dealer.attach(observer);
+  }
+
+  /**
+   * Writes the full state of the game: the rules, the win tallies, both
+   * hands including the dealer's hole card, and the shoe in order with the
+   * number of cards dealt from it and where the current round started. Observers and the event stream are not
+   * part of the state.
+   *
+   * @param buffer The buffer to write to, with at least {@link #MAX_STATE_BYTES} remaining.
+   */
+  public void writeState(ByteBuffer buffer) {
+    Deck deck = dealer.getDeck();
+    buffer.putInt(STATE_MAGIC).putShort(STATE_VERSION);
+    rules.encode(buffer, buffer.position());
+    buffer.position(buffer.position() + RuleSet.ENCODED_SIZE);
+    buffer.put((byte) ((deck != null ? 1 : 0) | (recorded ? 2 : 0)));
+    buffer.putInt(playerWins).putInt(dealerWins);
+    buffer.put((byte) commandCount).put(commands, 0, commandCount);
+    writeHand(buffer, player);
+    writeHand(buffer, dealer);
+    if (deck != null) {
+      buffer.putShort((short) deck.size()).putShort((short) deck.getDealtCount())
+          .putShort((short) deck.getRoundStart());
+      for (int i = 0; i < deck.size(); i++) {
+        buffer.put((byte) deck.getCardAt(i).getCode());
+      }
+    }
+  }
+
+  private static void writeHand(ByteBuffer buffer, Player hand) {
+    buffer.put((byte) hand.getHandSize()).putLong(hand.getHiddenCards());
+    for (int i = 0; i < hand.getHandSize(); i++) {
+      buffer.put((byte) hand.getCardAt(i).getCode());
+    }
+  }
+
+  /**
+   * Creates a game from a state written by {@link #writeState(ByteBuffer)},
+   * played by the rules it was saved with. The rules are saved by their
+   * parameters, so a rule set's custom name is not kept.
+   *
+   * @param buffer The buffer to read from.
+   * @return The game.
+   * @throws IllegalArgumentException If the buffer does not hold a saved game.
+   */
+  public static Game readState(ByteBuffer buffer) {
+    try {
+      if (buffer.getInt() != STATE_MAGIC) {
+        throw new IllegalArgumentException("Not a saved game");
+      }
+      short version = buffer.getShort();
+      if (version < 1 || version > STATE_VERSION) {
+        throw new IllegalArgumentException("Unsupported saved game version " + version);
+      }
+      RulesFactory rules;
+      if (version < 3) {
+        rules = RulesFactory.fromCombinationIndex(buffer.get());
+      } else {
+        rules = new RulesFactory(RuleSet.decode(buffer, buffer.position()));
+        buffer.position(buffer.position() + RuleSet.ENCODED_SIZE);
+      }
+      Game game = new Game(rules);
+      int flags = buffer.get();
+      game.recorded = (flags & 2) != 0;
+      game.playerWins = buffer.getInt();
+      game.dealerWins = buffer.getInt();
+      game.commandCount = buffer.get();
+      buffer.get(game.commands, 0, game.commandCount);
+      readHand(buffer, game.player);
+      readHand(buffer, game.dealer);
+      Deck deck = null;
+      if ((flags & 1) != 0) {
+        Card[] cards = new Card[buffer.getShort()];
+        int next = buffer.getShort();
+        int roundStart = version == 1 ? 0 : buffer.getShort(); // version 1 dealt a new deck every round
+        readCards(buffer, cards);
+        deck = new Shoe(rules.getRandomSource(), cards, next, roundStart, rules.getRuleSet().getPenetration());
+      }
+      game.dealer.restore(game.player, deck);
+      return game;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      throw new IllegalArgumentException("Saved game is truncated or damaged", e);
+    }
+  }
+
+  private static void readHand(ByteBuffer buffer, Player hand) {
+    Card[] cards = new Card[buffer.get()];
+    long hidden = buffer.getLong();
+    readCards(buffer, cards);
+    hand.restoreHand(cards, hidden);
+  }
+
+  private static void readCards(ByteBuffer buffer, Card[] cards) {
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = Card.fromCode(buffer.get());
+    }
   }
 }
@@ -0,0 +1,180 @@
+package model;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Something that happened in a game, as delivered by a {@link GameEventStream}.
+ * Event objects are preallocated and reused by the stream, so a subscriber
+ * must read an event in onNext and not keep it afterwards.
+ */
+public final class GameEvent {
+
+  /**
+   * The kinds of events.
+   */
+  public enum Type {
+    /** A new round has started; no cards are dealt yet. */
+    ROUND_STARTED,
+    /** A card was dealt to the player or the dealer. */
+    CARD_DEALT,
+    /** The player stood, the dealer has shown the hand and takes cards. */
+    DEALER_TURN,
+    /** The round is over and the winner is decided. */
+    ROUND_OVER
+  }
+
+  /** The seat of the dealer's hand, see {@link #getSeat()}. */
+  public static final int DEALER = -1;
+
+  private long sequence;
+  private Type type;
+  private int seat;
+  private Card card;
+  private boolean faceUp;
+  private boolean dealerWon;
+  private int playerScore;
+  private int dealerScore;
+
+  GameEvent() {
+  }
+
+  void set(long sequence, Type type) {
+    this.sequence = sequence;
+    VarHandle.storeStoreFence(); // a reader that sees any field below also sees the new sequence
+    this.type = type;
+    this.seat = 0;
+    this.card = null;
+    this.faceUp = false;
+    this.dealerWon = false;
+    this.playerScore = 0;
+    this.dealerScore = 0;
+  }
+
+  /**
+   * Copies another event. The sequence is read first, so comparing it with
+   * the other event's sequence afterwards tells if the other event was
+   * overwritten during the copy.
+   */
+  void copyFrom(GameEvent other) {
+    sequence = other.sequence;
+    VarHandle.loadLoadFence();
+    type = other.type;
+    seat = other.seat;
+    card = other.card;
+    faceUp = other.faceUp;
+    dealerWon = other.dealerWon;
+    playerScore = other.playerScore;
+    dealerScore = other.dealerScore;
+    VarHandle.loadLoadFence();
+  }
+
+  void setCard(int seat, Card card, boolean faceUp) {
+    this.seat = seat;
+    this.card = faceUp ? card : Card.HIDDEN;
+    this.faceUp = faceUp;
+  }
+
+  void setResult(int seat, boolean dealerWon, int playerScore, int dealerScore) {
+    this.seat = seat;
+    this.dealerWon = dealerWon;
+    this.playerScore = playerScore;
+    this.dealerScore = dealerScore;
+  }
+
+  /**
+   * Returns the position of the event in the stream, starting at 0.
+   *
+   * @return The sequence number.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Returns the kind of event.
+   *
+   * @return The type.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * For CARD_DEALT, checks if the card went to the dealer.
+   *
+   * @return True if the card was dealt to the dealer, false if to a player.
+   */
+  public boolean isToDealer() {
+    return seat == DEALER;
+  }
+
+  /**
+   * For CARD_DEALT, returns the seat the card was dealt to; for ROUND_OVER,
+   * the seat the result is for. Seats are numbered from 0 in the order they
+   * are dealt.
+   *
+   * @return The seat, or {@link #DEALER} for a card dealt to the dealer.
+   */
+  public int getSeat() {
+    return seat;
+  }
+
+  /**
+   * For CARD_DEALT, returns the card.
+   *
+   * @return The card, or {@link Card#HIDDEN} if it was dealt face down.
+   */
+  public Card getCard() {
+    return card;
+  }
+
+  /**
+   * For CARD_DEALT, checks if the card was dealt face up.
+   *
+   * @return True if the card is face up.
+   */
+  public boolean isFaceUp() {
+    return faceUp;
+  }
+
+  /**
+   * For ROUND_OVER, checks if the dealer won.
+   *
+   * @return True if the dealer won.
+   */
+  public boolean isDealerWon() {
+    return dealerWon;
+  }
+
+  /**
+   * For ROUND_OVER, returns the player's final score.
+   *
+   * @return The score.
+   */
+  public int getPlayerScore() {
+    return playerScore;
+  }
+
+  /**
+   * For ROUND_OVER, returns the dealer's final score.
+   *
+   * @return The score.
+   */
+  public int getDealerScore() {
+    return dealerScore;
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case CARD_DEALT:
+        return sequence + " " + type + (seat == DEALER ? " dealer " : " seat " + seat + " ") + card.getValue()
+            + " of " + card.getColor();
+      case ROUND_OVER:
+        return sequence + " " + type + " seat " + seat + (dealerWon ? " dealer won " : " player won ")
+            + playerScore + "-" + dealerScore;
+      default:
+        return sequence + " " + type;
+    }
+  }
+}
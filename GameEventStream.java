@@ -0,0 +1,224 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the events of a game through a preallocated ring buffer.
+ * The game thread fills the next slot in place and never waits for a
+ * subscriber. Every subscriber reads the ring at its own pace on the
+ * executor and only gets as many events as it has requested. A subscriber
+ * that falls a full ring behind is cancelled and gets onError.
+ *
+ * <p>The stream itself allocates nothing per event. A subscriber's drain
+ * task is handed to the executor only when the subscriber has requested
+ * events and its task is not already scheduled; the executor may allocate
+ * to run it.</p>
+ */
+public final class GameEventStream implements Flow.Publisher<GameEvent> {
+
+  private final GameEvent[] ring;
+  private final int mask;
+  private final Executor executor;
+  private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+  private volatile long cursor = -1; // sequence of the last published event
+  private volatile boolean closed;
+
+  /**
+   * Creates a stream.
+   *
+   * @param executor The executor that delivers events to subscribers.
+   * @param capacity The number of events in the ring, rounded up to a power of two.
+   */
+  public GameEventStream(Executor executor, int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.ring = new GameEvent[size];
+    for (int i = 0; i < size; i++) {
+      ring[i] = new GameEvent();
+    }
+    this.mask = size - 1;
+    this.executor = executor;
+  }
+
+  /**
+   * Subscribes to the events published from now on.
+   *
+   * @param subscriber The subscriber.
+   */
+  @Override
+  public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+    EventSubscription subscription = new EventSubscription(subscriber, cursor + 1);
+    subscriptions.add(subscription);
+    subscriber.onSubscribe(subscription);
+    if (closed) {
+      subscription.signal();
+    }
+  }
+
+  /**
+   * Ends the stream. Subscribers get the events already published and then
+   * onComplete.
+   */
+  public void close() {
+    closed = true;
+    signalAll();
+  }
+
+  void roundStarted() {
+    publish(claim(GameEvent.Type.ROUND_STARTED));
+  }
+
+  void cardDealt(int seat, Card card, boolean faceUp) {
+    GameEvent event = claim(GameEvent.Type.CARD_DEALT);
+    event.setCard(seat, card, faceUp);
+    publish(event);
+  }
+
+  void dealerTurn() {
+    publish(claim(GameEvent.Type.DEALER_TURN));
+  }
+
+  void roundOver(int seat, boolean dealerWon, int playerScore, int dealerScore) {
+    GameEvent event = claim(GameEvent.Type.ROUND_OVER);
+    event.setResult(seat, dealerWon, playerScore, dealerScore);
+    publish(event);
+  }
+
+  private GameEvent claim(GameEvent.Type type) {
+    long sequence = cursor + 1;
+    long wrapPoint = sequence - ring.length;
+    if (slowestSubscriber() <= wrapPoint) {
+      dropSubscribersAt(wrapPoint);
+    }
+    GameEvent event = ring[(int) sequence & mask];
+    event.set(sequence, type);
+    return event;
+  }
+
+  private void publish(GameEvent event) {
+    cursor = event.getSequence();
+    for (EventSubscription subscription : subscriptions) {
+      if (subscription.requested.get() > 0) {
+        subscription.signal();
+      }
+    }
+  }
+
+  /**
+   * Cancels the subscribers that have not yet read the event about to be
+   * overwritten. Each gets onError on its own delivery thread.
+   */
+  private void dropSubscribersAt(long wrapPoint) {
+    for (EventSubscription subscription : subscriptions) {
+      if (subscription.next <= wrapPoint) {
+        subscription.overflowed = true;
+        subscriptions.remove(subscription);
+        subscription.signal();
+      }
+    }
+  }
+
+  private long slowestSubscriber() {
+    long slowest = Long.MAX_VALUE;
+    for (EventSubscription subscription : subscriptions) {
+      slowest = Math.min(slowest, subscription.next);
+    }
+    return slowest;
+  }
+
+  private void signalAll() {
+    for (EventSubscription subscription : subscriptions) {
+      subscription.signal();
+    }
+  }
+
+  /**
+   * The reading side of one subscriber: the next sequence it will read and
+   * how many events it has requested.
+   */
+  private final class EventSubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super GameEvent> subscriber;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final GameEvent current = new GameEvent(); // the event being delivered, copied from the ring
+    private volatile long next;
+    private volatile boolean done;
+    private volatile boolean overflowed;
+
+    EventSubscription(Flow.Subscriber<? super GameEvent> subscriber, long next) {
+      this.subscriber = subscriber;
+      this.next = next;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        cancel();
+        subscriber.onError(new IllegalArgumentException("Requested " + n + " events"));
+        return;
+      }
+      requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+      signal();
+    }
+
+    @Override
+    public void cancel() {
+      done = true;
+      subscriptions.remove(this);
+    }
+
+    void signal() {
+      if (pending.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    /**
+     * Delivers the published events this subscriber has requested. Runs on one
+     * thread at a time; signals that arrive meanwhile make it loop again.
+     */
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        long sequence = next;
+        long wanted = requested.get();
+        long delivered = 0;
+        while (!done && !overflowed && delivered < wanted && sequence <= cursor) {
+          GameEvent slot = ring[(int) sequence & mask];
+          current.copyFrom(slot);
+          if (current.getSequence() != sequence || slot.getSequence() != sequence) {
+            overflowed = true; // the slot was reused while it was copied
+            break;
+          }
+          try {
+            subscriber.onNext(current);
+          } catch (RuntimeException e) {
+            cancel();
+            subscriber.onError(e);
+          }
+          sequence++;
+          delivered++;
+          next = sequence;
+        }
+        if (delivered > 0 && wanted != Long.MAX_VALUE) {
+          requested.addAndGet(-delivered);
+        }
+        if (!done && overflowed) {
+          cancel();
+          subscriber.onError(new IllegalStateException("Fell more than " + ring.length + " events behind"));
+        }
+        if (!done && closed && next > cursor) {
+          cancel();
+          subscriber.onComplete();
+        }
+        missed = pending.addAndGet(-missed);
+      } while (missed != 0);
+    }
+  }
+}
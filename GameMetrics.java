@@ -0,0 +1,122 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the games played by one rule set. The counts are LongAdders,
+ * so dealers on many threads can add to them without contending.
+ */
+public final class GameMetrics {
+
+  /** One in how many rounds is timed, and how many rounds a dealer counts before adding them here. */
+  public static final int SAMPLE_EVERY = 64;
+
+  private final String rules;
+  private final LongAdder roundsStarted = new LongAdder();
+  private final LongAdder shuffles = new LongAdder();
+  private final LongAdder cardsDealt = new LongAdder();
+  private final LongAdder scoreCalls = new LongAdder();
+  private final Histogram shuffleNanos = new Histogram();
+  private final Histogram roundNanos = new Histogram();
+
+  GameMetrics(String rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Returns the name of the rule set.
+   *
+   * @return The name.
+   */
+  public String getRules() {
+    return rules;
+  }
+
+  /**
+   * Adds counts collected by a dealer. Dealers add their counts in batches,
+   * so the shared counters are touched once every few rounds.
+   *
+   * @param rounds     The number of rounds started.
+   * @param shuffles   The number of times a shoe was shuffled.
+   * @param cards      The number of cards dealt.
+   * @param scoreCalls The number of calls to calcScore.
+   */
+  public void count(long rounds, long shuffles, long cards, long scoreCalls) {
+    roundsStarted.add(rounds);
+    this.shuffles.add(shuffles);
+    cardsDealt.add(cards);
+    this.scoreCalls.add(scoreCalls);
+  }
+
+  /**
+   * Records the time to shuffle a shoe, or to create a new one.
+   *
+   * @param nanos The time in nanoseconds.
+   */
+  public void shoeShuffled(long nanos) {
+    shuffleNanos.record(nanos);
+  }
+
+  /**
+   * Records the time a timed round took, from dealing to the dealer's last card.
+   *
+   * @param nanos The time in nanoseconds.
+   */
+  public void roundFinished(long nanos) {
+    roundNanos.record(nanos);
+  }
+
+  /**
+   * Returns the number of rounds started.
+   *
+   * @return The count.
+   */
+  public long getRoundsStarted() {
+    return roundsStarted.sum();
+  }
+
+  /**
+   * Returns the number of times a shoe was shuffled.
+   *
+   * @return The count.
+   */
+  public long getShuffles() {
+    return shuffles.sum();
+  }
+
+  /**
+   * Returns the number of cards dealt.
+   *
+   * @return The count.
+   */
+  public long getCardsDealt() {
+    return cardsDealt.sum();
+  }
+
+  /**
+   * Returns the number of calls to calcScore.
+   *
+   * @return The count.
+   */
+  public long getScoreCalls() {
+    return scoreCalls.sum();
+  }
+
+  /**
+   * Returns the times to shuffle a shoe before a round.
+   *
+   * @return The histogram.
+   */
+  public Histogram getShuffleNanos() {
+    return shuffleNanos;
+  }
+
+  /**
+   * Returns the durations of the sampled rounds.
+   *
+   * @return The histogram.
+   */
+  public Histogram getRoundNanos() {
+    return roundNanos;
+  }
+}
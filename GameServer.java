@@ -0,0 +1,209 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import javax.management.JMException;
+import metrics.MetricsRegistry;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+import view.Command;
+
+/**
+ * Hosts many Blackjack tables behind a local TCP socket. Every connection
+ * gets a table of its own and a thread of its own (a virtual thread where the
+ * JDK has them), and speaks the line protocol described in {@link Protocol}.
+ * A connection that sends nothing for the idle timeout is closed, and its
+ * table with it.
+ */
+public class GameServer implements Closeable {
+
+  private static final int BACKLOG = 16 * 1024;
+
+  private final ServerSocket serverSocket;
+  private final int idleMillis;
+  private final RulesFactory rules;
+  private final TableRegistry tables;
+  private final ExecutorService connections = Threads.newThreadPerTaskExecutor("table");
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet(); // the open connections
+  private final Thread acceptor;
+
+  /**
+   * Creates a server listening on the loopback interface.
+   *
+   * @param port       The port, or 0 for any free port.
+   * @param idleMillis How long a connection may be idle before it is closed.
+   * @throws IOException If the port cannot be opened.
+   */
+  public GameServer(int port, int idleMillis) throws IOException {
+    this(port, idleMillis, new RulesFactory());
+  }
+
+  /**
+   * Creates a server listening on the loopback interface whose tables all
+   * play by the rules of one factory. Rules replaced in the factory apply to
+   * every table from its next round.
+   *
+   * @param port       The port, or 0 for any free port.
+   * @param idleMillis How long a connection may be idle before it is closed.
+   * @param rules      The rules shared by all tables.
+   * @throws IOException If the port cannot be opened.
+   */
+  public GameServer(int port, int idleMillis, RulesFactory rules) throws IOException {
+    this.rules = rules;
+    this.tables = new TableRegistry(rules);
+    this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+    this.idleMillis = idleMillis;
+    this.acceptor = new Thread(this::accept, "acceptor");
+  }
+
+  /**
+   * Starts accepting connections.
+   */
+  public void start() {
+    acceptor.start();
+  }
+
+  /**
+   * Returns the port the server listens on.
+   *
+   * @return The port.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Returns the rules shared by all tables.
+   *
+   * @return The rules.
+   */
+  public RulesFactory getRules() {
+    return rules;
+  }
+
+  /**
+   * Returns the number of open tables.
+   *
+   * @return The number of tables.
+   */
+  public int getOpenTables() {
+    return tables.size();
+  }
+
+  /**
+   * Stops accepting connections and closes the open ones. Closing a
+   * connection's socket wakes its thread, which is blocked reading, and the
+   * thread then closes the table.
+   *
+   * @throws IOException If the server socket cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    for (Socket socket : sockets) {
+      closeQuietly(socket);
+    }
+    connections.shutdownNow();
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // closing anyway
+    }
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        sockets.add(socket);
+        if (serverSocket.isClosed()) {
+          closeQuietly(socket); // accepted while closing; close() may have missed it
+        }
+        connections.execute(() -> serve(socket));
+      } catch (IOException e) {
+        if (!serverSocket.isClosed()) {
+          System.err.println("Error accepting connection: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    Table table = tables.open();
+    try (socket) {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(idleMillis);
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      Writer out = new BufferedWriter(
+          new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+      String line;
+      while ((line = in.readLine()) != null) {
+        Command command = Protocol.parse(line);
+        int seats = Protocol.parseSeats(line);
+        out.write(seats < 0 ? table.handle(command) : table.setSeats(seats));
+        out.write('\n');
+        out.flush();
+        if (command == Command.QUIT) {
+          break;
+        }
+      }
+    } catch (SocketTimeoutException e) {
+      // Idle for too long; the table is closed below.
+    } catch (IOException e) {
+      // The client went away; the table is closed below.
+    } finally {
+      sockets.remove(socket);
+      tables.close(table);
+    }
+  }
+
+  /**
+   * Runs the server until the process is stopped. The rules are read from
+   * the {@value RuleSet#PROPERTY_PREFIX}* system properties. Unless metrics
+   * are off, they are published over JMX and, if
+   * {@value MetricsRegistry#DUMP_PROPERTY} is set to a number of seconds,
+   * written to standard output at that period.
+   *
+   * @param args Optional port (default 7021) and idle timeout in seconds (default 300).
+   * @throws IOException If the port cannot be opened.
+   */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 7021;
+    int idleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+    RulesFactory rules = new RulesFactory(RuleSet.fromSystemProperties());
+    GameServer server = new GameServer(port, idleSeconds * 1000, rules);
+    server.start();
+    System.out.println("Black Jack server listening on port " + server.getPort() + ", rules " + server.getRules());
+
+    if (MetricsRegistry.ENABLED) {
+      try {
+        MetricsRegistry.global().registerMBean();
+      } catch (JMException e) {
+        System.err.println("Metrics are not published over JMX: " + e.getMessage());
+      }
+      long dumpSeconds = Long.getLong(MetricsRegistry.DUMP_PROPERTY, 0);
+      if (dumpSeconds > 0) {
+        MetricsRegistry.global().startDump(System.out, dumpSeconds);
+      }
+    }
+  }
+}
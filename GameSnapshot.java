@@ -0,0 +1,93 @@
+package model;
+
+/**
+ * An immutable, read-only view of a game at one point in time: both hands
+ * with their scores and visible cards, whether the round is over and the win
+ * tallies. Views can keep and read a snapshot from any thread without
+ * affecting the live game.
+ */
+public final class GameSnapshot {
+
+  private final HandSnapshot player;
+  private final HandSnapshot dealer;
+  private final boolean gameOver;
+  private final int playerWins;
+  private final int dealerWins;
+
+  GameSnapshot(HandSnapshot player, HandSnapshot dealer, boolean gameOver, int playerWins, int dealerWins) {
+    this.player = player;
+    this.dealer = dealer;
+    this.gameOver = gameOver;
+    this.playerWins = playerWins;
+    this.dealerWins = dealerWins;
+  }
+
+  /**
+   * Returns the player's hand.
+   *
+   * @return The player's hand.
+   */
+  public HandSnapshot getPlayerHand() {
+    return player;
+  }
+
+  /**
+   * Returns the dealer's hand, with the hole card hidden until it is shown.
+   *
+   * @return The dealer's hand.
+   */
+  public HandSnapshot getDealerHand() {
+    return dealer;
+  }
+
+  /**
+   * Returns the score of the player's hand.
+   *
+   * @return the score.
+   */
+  public int getPlayerScore() {
+    return player.getScore();
+  }
+
+  /**
+   * Returns the score of the dealer's visible cards.
+   *
+   * @return the score.
+   */
+  public int getDealerScore() {
+    return dealer.getScore();
+  }
+
+  /**
+   * Checks if the round had ended when the snapshot was taken.
+   *
+   * @return true if the round had ended.
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Gets the number of wins by the player.
+   *
+   * @return The number of player wins.
+   */
+  public int getPlayerWins() {
+    return playerWins;
+  }
+
+  /**
+   * Gets the number of wins by the dealer.
+   *
+   * @return The number of dealer wins.
+   */
+  public int getDealerWins() {
+    return dealerWins;
+  }
+
+  boolean isSameState(HandSnapshot player, HandSnapshot dealer, boolean gameOver, int playerWins,
+      int dealerWins) {
+    return this.player == player && this.dealer == dealer && this.gameOver == gameOver
+        && this.playerWins == playerWins && this.dealerWins == dealerWins;
+  }
+}
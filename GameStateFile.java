@@ -0,0 +1,73 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves games to files and restores them, so a game can be continued after
+ * a restart, also in the middle of a round.
+ *
+ * <p>A game is written into a direct buffer that is written straight to a
+ * temporary file, which is then renamed over the target in one step. A
+ * reader sees either the old or the new state, never a half-written one.
+ * The file is not forced to disk, so a save can still be lost if the
+ * machine goes down right after it.</p>
+ */
+public final class GameStateFile {
+
+  private static final ThreadLocal<ByteBuffer> BUFFER =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(Game.MAX_STATE_BYTES));
+
+  private GameStateFile() {
+  }
+
+  /**
+   * Saves a game to a file, replacing the file if it exists.
+   *
+   * @param game The game.
+   * @param file The file.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(Game game, Path file) throws IOException {
+    ByteBuffer buffer = BUFFER.get();
+    buffer.clear();
+    game.writeState(buffer);
+    buffer.flip();
+    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Restores a game from a file.
+   *
+   * @param file The file.
+   * @return The game.
+   * @throws IOException If the file cannot be read or does not hold a saved game.
+   */
+  public static Game load(Path file) throws IOException {
+    ByteBuffer buffer = BUFFER.get();
+    buffer.clear();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // keep reading until the end of the file
+      }
+    }
+    buffer.flip();
+    try {
+      return Game.readState(buffer);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(file + ": " + e.getMessage(), e);
+    }
+  }
+}
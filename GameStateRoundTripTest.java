@@ -0,0 +1,117 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+
+/**
+ * Saves and restores games, and journals and replays rounds, under standard
+ * and non-standard rule sets, and checks that nothing is lost on the way.
+ * The project has no test framework, so the test is run as a program and
+ * exits with an error if a check fails.
+ */
+public final class GameStateRoundTripTest {
+
+  private GameStateRoundTripTest() {
+  }
+
+  /**
+   * Runs the test.
+   *
+   * @param args Not used.
+   * @throws IOException If a temporary file cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty("hit.limit", "16");
+    properties.setProperty("hit.soft", "true");
+    properties.setProperty("deal", "international");
+    properties.setProperty("ties", "player");
+    properties.setProperty("decks", "4");
+    properties.setProperty("penetration", "0.6");
+    RuleSet[] ruleSets = {
+        RuleSet.of(17, false, RulesFactory.DealVariant.AMERICAN, RulesFactory.WinVariant.DEALER_WINS_TIES),
+        RuleSet.of(17, false, RulesFactory.DealVariant.AMERICAN, RulesFactory.WinVariant.DEALER_WINS_TIES, 6),
+        RuleSet.of(18, true, RulesFactory.DealVariant.INTERNATIONAL, RulesFactory.WinVariant.PLAYER_WINS_TIES, 2,
+            0.5),
+        RuleSet.fromProperties(properties),
+    };
+    for (RuleSet rules : ruleSets) {
+      saveAndRestore(rules);
+      journalAndReplay(rules);
+    }
+    System.out.println("ok");
+  }
+
+  private static void saveAndRestore(RuleSet rules) {
+    Game game = new Game(new RulesFactory(rules));
+    for (int round = 0; round < 20; round++) {
+      game.newGame();
+      game.stand();
+      game.isDealerWinner();
+    }
+    game.newGame();
+    game.hit();
+
+    ByteBuffer buffer = ByteBuffer.allocate(Game.MAX_STATE_BYTES);
+    game.writeState(buffer);
+    buffer.flip();
+    Game restored = Game.readState(buffer);
+
+    RuleSet restoredRules = restored.getDealer().getRuleSet();
+    check(sameParameters(rules, restoredRules), rules + ": rules restored as " + restoredRules);
+    check(hand(game.getPlayerHand()).equals(hand(restored.getPlayerHand())), rules + ": player hand");
+    check(hand(game.getDealerHand()).equals(hand(restored.getDealerHand())), rules + ": dealer hand");
+    check(game.getPlayerWins() == restored.getPlayerWins() && game.getDealerWins() == restored.getDealerWins(),
+        rules + ": wins");
+
+    game.stand();
+    restored.stand();
+    check(game.getDealerScore() == restored.getDealerScore(), rules + ": dealer's turn");
+    check(game.isDealerWinner() == restored.isDealerWinner(), rules + ": result");
+  }
+
+  private static void journalAndReplay(RuleSet rules) throws IOException {
+    Path file = Files.createTempFile("journal", ".bin");
+    try {
+      try (RoundJournal journal = RoundJournal.open(file)) {
+        Game game = new Game(new RulesFactory(rules));
+        game.setJournal(journal);
+        for (int round = 0; round < 1000; round++) {
+          game.newGame();
+          while (game.getPlayerScore() < 15 && game.hit()) {
+            // keep hitting
+          }
+          game.stand();
+        }
+      }
+      RoundReplay.Result result = new RoundReplay().replay(file);
+      check(result.getRounds() == 1000 && result.getMismatches() == 0, rules + ": replay " + result);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static boolean sameParameters(RuleSet a, RuleSet b) {
+    return a.getHitLimit() == b.getHitLimit() && a.isHitSoft() == b.isHitSoft() && a.getDeal() == b.getDeal()
+        && a.getTies() == b.getTies() && a.getDecks() == b.getDecks() && a.getPenetration() == b.getPenetration();
+  }
+
+  private static String hand(Iterable<Card> cards) {
+    StringBuilder codes = new StringBuilder();
+    for (Card card : cards) {
+      codes.append(card.getCode()).append(' ');
+    }
+    return codes.toString();
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new AssertionError(message);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package model;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A seeded random source using one of the JDK random generator algorithms.
+ */
+final class GeneratorRandomSource implements RandomSource {
+
+  private final RandomGeneratorFactory<RandomGenerator> factory;
+  private final RandomGenerator random;
+
+  GeneratorRandomSource(String algorithm, long seed) {
+    this(RandomGeneratorFactory.of(algorithm), seed);
+  }
+
+  private GeneratorRandomSource(RandomGeneratorFactory<RandomGenerator> factory, long seed) {
+    this.factory = factory;
+    this.random = factory.create(seed);
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  /**
+   * Seeds a new generator of the same algorithm from this one.
+   */
+  @Override
+  public RandomSource split() {
+    return new GeneratorRandomSource(factory, random.nextLong());
+  }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, read-only view of a hand at one point in time.
+ * The snapshot shares the card array of the live hand instead of copying it;
+ * the hand never overwrites cards that a snapshot can see. Face down cards
+ * are returned as {@link Card#HIDDEN}.
+ */
+public final class HandSnapshot implements Iterable<Card> {
+
+  static final HandSnapshot EMPTY = new HandSnapshot(new Card[0], 0, 0, HandValue.of(0, false));
+
+  private final Card[] cards;
+  private final int size;
+  private final long hiddenCards;
+  private final HandValue value;
+
+  HandSnapshot(Card[] cards, int size, long hiddenCards, HandValue value) {
+    this.cards = cards;
+    this.size = size;
+    this.hiddenCards = hiddenCards;
+    this.value = value;
+  }
+
+  /**
+   * Returns the number of cards in the hand.
+   *
+   * @return The number of cards.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns a card in the hand.
+   *
+   * @param index The position of the card.
+   * @return The card, or {@link Card#HIDDEN} if it is face down.
+   */
+  public Card getCard(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return isHidden(index) ? Card.HIDDEN : cards[index];
+  }
+
+  /**
+   * Checks if a card in the hand is face down.
+   *
+   * @param index The position of the card.
+   * @return True if the card is face down.
+   */
+  public boolean isHidden(int index) {
+    return (hiddenCards & (1L << index)) != 0;
+  }
+
+  /**
+   * Returns the score of the face up cards.
+   *
+   * @return The score.
+   */
+  public int getScore() {
+    return value.getTotal();
+  }
+
+  /**
+   * Returns the value of the face up cards.
+   *
+   * @return The hand value.
+   */
+  public HandValue getValue() {
+    return value;
+  }
+
+  @Override
+  public Iterator<Card> iterator() {
+    return new Iterator<Card>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < size;
+      }
+
+      @Override
+      public Card next() {
+        if (next >= size) {
+          throw new NoSuchElementException();
+        }
+        return getCard(next++);
+      }
+    };
+  }
+}
@@ -0,0 +1,66 @@
+package model;
+
+/**
+ * The value of a hand of cards: its Blackjack total and whether the total is
+ * soft, i.e. contains an Ace that is still counted as 11.
+ * Instances are immutable and shared, so asking a hand for its value never
+ * allocates.
+ */
+public final class HandValue {
+
+  private static final int CACHED_TOTALS = 32;
+  private static final HandValue[] HARD = new HandValue[CACHED_TOTALS];
+  private static final HandValue[] SOFT = new HandValue[CACHED_TOTALS];
+
+  static {
+    for (int total = 0; total < CACHED_TOTALS; total++) {
+      HARD[total] = new HandValue(total, false);
+      SOFT[total] = new HandValue(total, true);
+    }
+  }
+
+  private final int total;
+  private final boolean soft;
+
+  private HandValue(int total, boolean soft) {
+    this.total = total;
+    this.soft = soft;
+  }
+
+  /**
+   * Returns the value for a total.
+   *
+   * @param total The total of the hand.
+   * @param soft  True if an Ace in the hand is counted as 11.
+   * @return The hand value.
+   */
+  public static HandValue of(int total, boolean soft) {
+    if (total >= 0 && total < CACHED_TOTALS) {
+      return soft ? SOFT[total] : HARD[total];
+    }
+    return new HandValue(total, soft);
+  }
+
+  /**
+   * Returns the Blackjack total of the hand.
+   *
+   * @return The total.
+   */
+  public int getTotal() {
+    return total;
+  }
+
+  /**
+   * Checks if the total is soft, i.e. an Ace is counted as 11.
+   *
+   * @return True if the total is soft.
+   */
+  public boolean isSoft() {
+    return soft;
+  }
+
+  @Override
+  public String toString() {
+    return (soft ? "soft " : "hard ") + total;
+  }
+}
@@ -0,0 +1,49 @@
+package model.rules;
+
+import model.Card;
+import model.Player;
+
+/**
+ * Builds hands of a given value, so that rules that look at a hand can be
+ * asked about a total and softness.
+ */
+public final class Hands {
+
+  private Hands() {
+  }
+
+  /**
+   * Builds a hand with the given value. A soft hand holds an Ace counted as
+   * 11; a soft 12 is two Aces.
+   *
+   * @param total The total of the hand, 11 or more if it is soft.
+   * @param soft  True if the hand is soft.
+   * @return The hand.
+   */
+  public static Player withValue(int total, boolean soft) {
+    Player hand = new Player();
+    int rest = total;
+    if (soft) {
+      hand.dealCard(Card.get(Card.Color.Spades, Card.Value.Ace), true);
+      rest -= 11;
+      if (rest == 1) {
+        // Only a second Ace, counted as 1, makes a soft 12.
+        hand.dealCard(Card.get(Card.Color.Hearts, Card.Value.Ace), true);
+        rest = 0;
+      }
+    }
+    while (rest > 0) {
+      int points = Math.min(10, rest);
+      if (rest - points == 1) {
+        points--; // leave at least a Two for the next card
+      }
+      if (points < 2) {
+        // A hard total of 1 cannot be built without an Ace; a Two is as close as it gets.
+        points = 2;
+      }
+      hand.dealCard(Card.get(Card.Color.Clubs, Card.Value.values()[points - 2]), true);
+      rest -= points;
+    }
+    return hand;
+  }
+}
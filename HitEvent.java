@@ -0,0 +1,22 @@
+package metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A player taking one more card.
+ */
+@Name("blackjack.Hit")
+@Label("Hit")
+@Description("Dealing one more card to a player")
+public final class HitEvent extends TableEvent {
+
+  /** The player's score after the card. */
+  @Label("Player Score")
+  public int playerScore;
+
+  /** The number of cards dealt from the deck so far this round. */
+  @Label("Cards Dealt")
+  public int cardsDealt;
+}
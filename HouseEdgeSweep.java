@@ -0,0 +1,286 @@
+package simulation;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import model.RandomSource;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+
+/**
+ * Estimates the house edge of every combination of deal rule, dealer hit
+ * rule and tie rule, for a range of hit limits and numbers of decks.
+ *
+ * <p>The combinations run side by side on a fork-join pool. Each one plays
+ * batches of rounds, a few at a time in parallel, and keeps the mean and
+ * variance of the result per hand with Welford's method, merging batches
+ * with Chan's formula. A combination stops as soon as its 95% confidence
+ * interval is narrower than the target width, or when it reaches the
+ * largest number of rounds allowed.</p>
+ *
+ * <p>The report is a tab-separated table in a fixed order with no timings,
+ * so the reports of two releases can be compared with diff. For a given
+ * seed the report is the same for any number of threads.</p>
+ */
+public class HouseEdgeSweep {
+
+  private static final long BATCH_ROUNDS = 20_000;
+  private static final int BATCHES_PER_STEP = 4;
+  private static final double Z95 = 1.959964;
+
+  /**
+   * One combination of rules to sweep.
+   */
+  static final class Config {
+    final RulesFactory.HitVariant hit;
+    final RulesFactory.DealVariant deal;
+    final RulesFactory.WinVariant win;
+    final int hitLimit;
+    final int decks;
+    final RuleSet rules;
+
+    Config(RulesFactory.HitVariant hit, RulesFactory.DealVariant deal, RulesFactory.WinVariant win,
+        int hitLimit, int decks) {
+      this.hit = hit;
+      this.deal = deal;
+      this.win = win;
+      this.hitLimit = hitLimit;
+      this.decks = decks;
+      this.rules = RuleSet.of(hitLimit, hit == RulesFactory.HitVariant.SOFT_17, deal, win, decks);
+    }
+  }
+
+  /**
+   * The estimate for one combination.
+   */
+  public static final class Row {
+    private final Config config;
+    private final long rounds;
+    private final double edge;
+    private final double halfWidth;
+    private final boolean converged;
+
+    Row(Config config, long rounds, double edge, double halfWidth, boolean converged) {
+      this.config = config;
+      this.rounds = rounds;
+      this.edge = edge;
+      this.halfWidth = halfWidth;
+      this.converged = converged;
+    }
+
+    /**
+     * Returns the estimated house edge.
+     *
+     * @return The house edge, negative if the player comes out ahead.
+     */
+    public double getHouseEdge() {
+      return edge;
+    }
+
+    /**
+     * Returns half the width of the 95% confidence interval of the house edge.
+     *
+     * @return The half width.
+     */
+    public double getHalfWidth() {
+      return halfWidth;
+    }
+
+    /**
+     * Returns the number of rounds played.
+     *
+     * @return The number of rounds.
+     */
+    public long getRounds() {
+      return rounds;
+    }
+
+    /**
+     * Checks if the interval reached the target width before the round limit.
+     *
+     * @return True if the estimate converged.
+     */
+    public boolean isConverged() {
+      return converged;
+    }
+
+    /**
+     * Returns the column names of the report.
+     *
+     * @return The header line.
+     */
+    public static String header() {
+      return "deal\thit\thit_limit\tties\tdecks\trounds\thouse_edge\tci_low\tci_high\tconverged";
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%s\t%s\t%d\t%s\t%d\t%d\t%.5f\t%.5f\t%.5f\t%b", config.deal,
+          config.hit, config.hitLimit, config.win, config.decks, rounds, edge, edge - halfWidth,
+          edge + halfWidth, converged);
+    }
+  }
+
+  private final PlayerPolicy policy;
+  private final double targetWidth;
+  private final long maxRounds;
+
+  /**
+   * Creates a sweep.
+   *
+   * @param policy      The policy that plays the player's hand.
+   * @param targetWidth The width of the confidence interval to stop at.
+   * @param maxRounds   The most rounds to play for one combination.
+   */
+  public HouseEdgeSweep(PlayerPolicy policy, double targetWidth, long maxRounds) {
+    this.policy = policy;
+    this.targetWidth = targetWidth;
+    this.maxRounds = maxRounds;
+  }
+
+  /**
+   * Returns every combination of the rule variants with the given hit limits
+   * and numbers of decks, in report order.
+   *
+   * @param hitLimits The hit limits.
+   * @param decks     The numbers of decks.
+   * @return The combinations.
+   */
+  static List<Config> configurations(int[] hitLimits, int[] decks) {
+    List<Config> configs = new ArrayList<>();
+    for (RulesFactory.DealVariant deal : RulesFactory.DealVariant.values()) {
+      for (RulesFactory.HitVariant hit : RulesFactory.HitVariant.values()) {
+        for (int hitLimit : hitLimits) {
+          for (RulesFactory.WinVariant win : RulesFactory.WinVariant.values()) {
+            for (int deckCount : decks) {
+              configs.add(new Config(hit, deal, win, hitLimit, deckCount));
+            }
+          }
+        }
+      }
+    }
+    return configs;
+  }
+
+  /**
+   * Sweeps the combinations on a pool.
+   *
+   * @param configs The combinations.
+   * @param seed    The master seed.
+   * @param pool    The pool to run on.
+   * @return One row per combination, in the same order.
+   */
+  List<Row> run(List<Config> configs, long seed, ForkJoinPool pool) {
+    RandomSource master = RandomSource.splittable(seed);
+    List<ConfigTask> tasks = new ArrayList<>();
+    for (Config config : configs) {
+      tasks.add(new ConfigTask(config, master.split()));
+    }
+    return pool.invoke(new RecursiveTask<List<Row>>() {
+      @Override
+      protected List<Row> compute() {
+        List<Row> rows = new ArrayList<>();
+        for (ConfigTask task : ForkJoinTask.invokeAll(tasks)) {
+          rows.add(task.join());
+        }
+        return rows;
+      }
+    });
+  }
+
+  /**
+   * Plays batches of one combination until the interval is narrow enough.
+   */
+  private final class ConfigTask extends RecursiveTask<Row> {
+    private static final long serialVersionUID = 1L;
+    private final Config config;
+    private final RandomSource random;
+
+    ConfigTask(Config config, RandomSource random) {
+      this.config = config;
+      this.random = random;
+    }
+
+    @Override
+    protected Row compute() {
+      long count = 0;
+      double mean = 0;
+      double m2 = 0;
+      double halfWidth = Double.POSITIVE_INFINITY;
+      while (count < maxRounds && 2 * halfWidth > targetWidth) {
+        List<BatchTask> batches = new ArrayList<>();
+        for (int i = 0; i < BATCHES_PER_STEP; i++) {
+          batches.add(new BatchTask(config, random.split()));
+        }
+        for (BatchTask batch : ForkJoinTask.invokeAll(batches)) {
+          SimulationResult result = batch.join();
+          // Every hand is +1 (dealer wins) or -1 (player wins), so the batch's sum of squares is known.
+          long n = result.getRounds();
+          double batchMean = (double) (result.getDealerWins() - result.getPlayerWins()) / n;
+          double batchM2 = n - batchMean * batchMean * n;
+          double delta = batchMean - mean;
+          long total = count + n;
+          mean += delta * n / total;
+          m2 += batchM2 + delta * delta * ((double) count * n / total);
+          count = total;
+        }
+        halfWidth = Z95 * Math.sqrt(m2 / (count - 1) / count);
+      }
+      return new Row(config, count, mean, halfWidth, 2 * halfWidth <= targetWidth);
+    }
+  }
+
+  /**
+   * Plays one batch of rounds.
+   */
+  private final class BatchTask extends RecursiveTask<SimulationResult> {
+    private static final long serialVersionUID = 1L;
+    private final Config config;
+    private final RandomSource random;
+
+    BatchTask(Config config, RandomSource random) {
+      this.config = config;
+      this.random = random;
+    }
+
+    @Override
+    protected SimulationResult compute() {
+      return new Simulator(new RulesFactory(config.rules), policy).run(BATCH_ROUNDS, random);
+    }
+  }
+
+  /**
+   * Sweeps all combinations with hit limits 16 to 18 and 1, 2, 6 and 8 decks,
+   * and prints the report to standard output.
+   *
+   * @param args Optional target interval width (default 0.01), most rounds per
+   *             combination (default 10 000 000), seed (default 1) and threads
+   *             (default all processors).
+   */
+  public static void main(String[] args) {
+    double width = args.length > 0 ? Double.parseDouble(args[0]) : 0.01;
+    long maxRounds = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000;
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+    int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+    List<Config> configs = configurations(new int[] {16, 17, 18}, new int[] {1, 2, 6, 8});
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    long start = System.nanoTime();
+    List<Row> rows = new HouseEdgeSweep(PlayerPolicy.basic(), width, maxRounds).run(configs, seed, pool);
+    pool.shutdown();
+
+    PrintStream out = System.out;
+    out.println(Row.header());
+    long rounds = 0;
+    for (Row row : rows) {
+      out.println(row);
+      rounds += row.getRounds();
+    }
+    System.err.printf("%d combinations, %d rounds in %.1f s%n", rows.size(), rounds,
+        (System.nanoTime() - start) / 1e9);
+  }
+}
@@ -1,6 +1,6 @@
 package model.rules;
 
-import model.Card;
+import java.util.List;
 import model.Dealer;
 import model.Deck;
 import model.Player;
@@ -13,19 +13,24 @@ import model.Player;
 class InternationalNewGameStrategy implements NewGameStrategy {
 
   /**
-   * Starts a new game by dealing initial cards to both the player and the dealer.
-   * The player receives two face-up cards, and the dealer receives one face-up
-   * card.
+   * Starts a new game by dealing initial cards to the players and the dealer.
+   * Every player receives two face-up cards, and the dealer receives one face-up
+   * card. Each round of cards goes to the seats in order, and the dealer's card
+   * comes after the players' first cards.
    *
-   * @param deck   The deck of cards to be used.
-   * @param dealer The dealer involved in the game.
-   * @param player The player involved in the game.
+   * @param deck    The deck of cards to be used.
+   * @param dealer  The dealer involved in the game.
+   * @param players The players involved in the game, in seat order.
    * @return True when the initial cards are successfully dealt.
    */
-  public boolean newGame(Deck deck, Dealer dealer, Player player) {
-    dealCard(deck, player, true); // Player's first card
+  public boolean newGame(Deck deck, Dealer dealer, List<? extends Player> players) {
+    for (int i = 0; i < players.size(); i++) {
+      dealCard(deck, players.get(i), true); // Player's first card
+    }
     dealCard(deck, dealer, true); // Dealer's first card
-    dealCard(deck, player, true); // Player's second card
+    for (int i = 0; i < players.size(); i++) {
+      dealCard(deck, players.get(i), true); // Player's second card
+    }
 
     return true;
   }
@@ -34,8 +39,6 @@ class InternationalNewGameStrategy implements NewGameStrategy {
    * function to get card and show it.
    */
   private void dealCard(Deck deck, Player player, boolean isVisible) {
-    Card.Mutable card = deck.getCard();
-    card.show(isVisible);
-    player.dealCard(card);
+    player.dealCard(deck.getCard(), isVisible);
   }
 }
\ No newline at end of file
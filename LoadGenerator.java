@@ -0,0 +1,120 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Opens many tables on a local server at once and plays rounds on all of
+ * them, measuring the time from sending each command to reading its reply.
+ * Without a port it starts a server in the same process.
+ */
+public class LoadGenerator {
+
+  private static final byte[] PLAY = "PLAY\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] HIT = "HIT\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] STAND = "STAND\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] QUIT = "QUIT\n".getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * Runs the load and prints the latency percentiles.
+   *
+   * @param args Optional number of tables (default 10000), rounds per table
+   *             (default 20) and port of a running server.
+   * @throws Exception If the load cannot be run.
+   */
+  public static void main(String[] args) throws Exception {
+    int tables = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    GameServer server = null;
+    int port;
+    if (args.length > 2) {
+      port = Integer.parseInt(args[2]);
+    } else {
+      server = new GameServer(0, 60_000);
+      server.start();
+      port = server.getPort();
+    }
+
+    CountDownLatch connected = new CountDownLatch(tables);
+    CountDownLatch go = new CountDownLatch(1);
+    ExecutorService clients = Threads.newThreadPerTaskExecutor("client");
+    List<Future<long[]>> results = new ArrayList<>();
+    for (int t = 0; t < tables; t++) {
+      results.add(clients.submit(() -> play(port, rounds, connected, go)));
+    }
+    connected.await();
+    long start = System.nanoTime();
+    go.countDown();
+
+    long[] latencies = new long[tables * rounds * 3];
+    int count = 0;
+    for (Future<long[]> result : results) {
+      long[] table = result.get();
+      System.arraycopy(table, 0, latencies, count, table.length);
+      count += table.length;
+    }
+    long elapsed = System.nanoTime() - start;
+    clients.shutdown();
+    if (server != null) {
+      server.close();
+    }
+
+    Arrays.sort(latencies, 0, count);
+    System.out.printf("%d tables, %d commands in %.2f s (%.0f commands/s)%n",
+        tables, count, elapsed / 1e9, count * 1e9 / elapsed);
+    for (double percentile : new double[] {50, 90, 99, 99.9, 100}) {
+      long nanos = latencies[Math.min(count - 1, (int) (count * percentile / 100))];
+      System.out.printf("p%-5s %10.1f us%n", percentile, nanos / 1e3);
+    }
+  }
+
+  private static long[] play(int port, int rounds, CountDownLatch connected, CountDownLatch go)
+      throws IOException, InterruptedException {
+    long[] latencies = new long[rounds * 3];
+    boolean counted = false;
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      socket.setTcpNoDelay(true);
+      OutputStream out = socket.getOutputStream();
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+      connected.countDown();
+      counted = true;
+      go.await();
+
+      int ix = 0;
+      for (int round = 0; round < rounds; round++) {
+        latencies[ix++] = send(out, in, PLAY);
+        latencies[ix++] = send(out, in, HIT);
+        latencies[ix++] = send(out, in, STAND);
+      }
+      send(out, in, QUIT);
+    } finally {
+      // Never leave the others waiting for a client that failed to connect.
+      if (!counted) {
+        connected.countDown();
+      }
+    }
+    return latencies;
+  }
+
+  private static long send(OutputStream out, BufferedReader in, byte[] command) throws IOException {
+    long start = System.nanoTime();
+    out.write(command);
+    out.flush();
+    if (in.readLine() == null) {
+      throw new IOException("Server closed the connection");
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,225 @@
+package view;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import model.Card;
+
+/**
+ * A console view whose texts come from the {@value #BUNDLE} resource bundle
+ * of a locale. All texts, including the label of every card, are looked up
+ * once when the view is created, so rendering only copies prepared strings
+ * into the frame. Adding a language only needs a new properties file.
+ */
+public class LocalizedView implements View {
+
+  /** The base name of the resource bundle with the view's texts. */
+  public static final String BUNDLE = "messages";
+
+  private final Frame frame;
+  private final Pacer pacer;
+  private final CommandReader input;
+  private final String[] cardLabels = new String[Card.COUNT];
+  private final String hiddenLabel;
+  private final String welcomeTitle;
+  private final String welcomeHelp;
+  private final String promptCommand;
+  private final String errorInput;
+  private final String errorPrefix;
+  private final String dealerHand;
+  private final String playerHand;
+  private final String handScore;
+  private final String resultTitle;
+  private final String resultDealer;
+  private final String resultPlayer;
+  private final String summaryTitle;
+  private final String summaryPlayer;
+  private final String summaryDealer;
+  private final String summaryThanks;
+  private final String cardDealt;
+  private final String gameOver;
+  private final String invalidPlay;
+  private final String invalidCommand;
+  private final String invalidUnknown;
+  private final String replayPrompt;
+
+  /**
+   * Creates a view for a locale that writes to the console, paced by the
+   * {@value Pacer#DELAY_PROPERTY} system property.
+   *
+   * @param locale The locale of the texts.
+   */
+  public LocalizedView(Locale locale) {
+    this(locale, Frame.console(), Pacer.fromSystemProperties(), CommandReader.stdin());
+  }
+
+  /**
+   * Creates a view for a locale that renders into the given frame and reads
+   * commands from the given reader.
+   *
+   * @param locale The locale of the texts.
+   * @param frame  The frame to render into.
+   * @param pacer  Decides how long to wait between steps of the game.
+   * @param input  The reader to take commands from.
+   */
+  public LocalizedView(Locale locale, Frame frame, Pacer pacer, CommandReader input) {
+    this.frame = frame;
+    this.pacer = pacer;
+    this.input = input;
+    // Fall back to the base bundle, not to the bundle of the default locale.
+    ResourceBundle texts = ResourceBundle.getBundle(BUNDLE, locale,
+        ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES));
+    MessageFormat cardFormat = new MessageFormat(texts.getString("card.format"), locale);
+    for (int code = 0; code < Card.COUNT; code++) {
+      cardLabels[code] = cardLabel(texts, cardFormat, Card.fromCode(code));
+    }
+    hiddenLabel = cardLabel(texts, cardFormat, Card.HIDDEN);
+    welcomeTitle = texts.getString("welcome.title");
+    welcomeHelp = texts.getString("welcome.help");
+    promptCommand = texts.getString("prompt.command");
+    errorInput = texts.getString("error.input");
+    errorPrefix = texts.getString("error.prefix");
+    dealerHand = texts.getString("hand.dealer");
+    playerHand = texts.getString("hand.player");
+    handScore = texts.getString("hand.score");
+    resultTitle = texts.getString("result.title");
+    resultDealer = texts.getString("result.dealer");
+    resultPlayer = texts.getString("result.player");
+    summaryTitle = texts.getString("summary.title");
+    summaryPlayer = texts.getString("summary.player");
+    summaryDealer = texts.getString("summary.dealer");
+    summaryThanks = texts.getString("summary.thanks");
+    cardDealt = texts.getString("card.dealt");
+    gameOver = texts.getString("game.over");
+    invalidPlay = texts.getString("invalid.play");
+    invalidCommand = texts.getString("invalid.command");
+    invalidUnknown = texts.getString("invalid.unknown");
+    replayPrompt = texts.getString("replay.prompt");
+  }
+
+  private static String cardLabel(ResourceBundle texts, MessageFormat format, Card card) {
+    return format.format(new Object[] {
+        texts.getString("value." + card.getValue()), texts.getString("color." + card.getColor()) });
+  }
+
+  @Override
+  public void displayWelcomeMessage() {
+    frame.line(welcomeTitle);
+    frame.line(welcomeHelp);
+  }
+
+  /**
+   * Gets the next command. The prompt is only shown when no command is
+   * waiting in the input, so several commands on one line, or a script,
+   * are played without a prompt for each of them.
+   *
+   * @return The command, or QUIT at the end of the input.
+   */
+  @Override
+  public Command getInput() {
+    try {
+      if (!input.hasBuffered()) {
+        frame.append(promptCommand);
+      }
+      frame.flush();
+      return input.next();
+    } catch (IOException e) {
+      frame.append(errorInput).line(e.getMessage());
+      return Command.INVALID;
+    }
+  }
+
+  @Override
+  public void displayCard(Card card) {
+    frame.line(card.getCode() < 0 ? hiddenLabel : cardLabels[card.getCode()]);
+  }
+
+  @Override
+  public void displayDealerHand(Iterable<Card> hand, int score) {
+    displayHand(dealerHand, hand, score);
+  }
+
+  @Override
+  public void displayPlayerHand(Iterable<Card> hand, int score) {
+    displayHand(playerHand, hand, score);
+  }
+
+  private void displayHand(String title, Iterable<Card> hand, int score) {
+    frame.line(title);
+    for (Card card : hand) {
+      displayCard(card);
+    }
+    frame.append(handScore).append(score).line("\n");
+  }
+
+  @Override
+  public void displayGameOver(boolean dealerIsWinner) {
+    frame.line(resultTitle);
+    if (dealerIsWinner) {
+      frame.line(resultDealer);
+    } else {
+      frame.line(resultPlayer);
+    }
+  }
+
+  @Override
+  public void displayErrorMessage(String message) {
+    frame.append(errorPrefix).line(message);
+  }
+
+  @Override
+  public void displayPrompt(String prompt) {
+    frame.line(prompt);
+  }
+
+  @Override
+  public void displaySummary(int playerWins, int dealerWins) {
+    frame.line(summaryTitle);
+    frame.append(summaryPlayer).append(playerWins).line("");
+    frame.append(summaryDealer).append(dealerWins).line("");
+    frame.line(summaryThanks);
+    frame.flush();
+  }
+
+  @Override
+  public void pause() {
+    frame.flush();
+    pacer.pause();
+  }
+
+  @Override
+  public void update() {
+    pause();
+    frame.line(cardDealt);
+  }
+
+  @Override
+  public void handleInvalidCommand(Command command) {
+    if (command == Command.PLAY) {
+      displayErrorMessage(invalidPlay);
+    } else if (command == Command.INVALID) {
+      displayErrorMessage(invalidCommand);
+    } else {
+      displayErrorMessage(invalidUnknown);
+    }
+  }
+
+  @Override
+  public void cardDealt() {
+    update();
+  }
+
+  @Override
+  public void gameOver() {
+    frame.line(gameOver);
+    frame.flush();
+  }
+
+  @Override
+  public boolean promptForReplay() {
+    displayPrompt(replayPrompt);
+    Command postGameCommand = getInput();
+    return postGameCommand == Command.PLAY;
+  }
+}
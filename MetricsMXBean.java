@@ -0,0 +1,66 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link MetricsRegistry}, registered as
+ * {@value MetricsRegistry#OBJECT_NAME}. Maps are keyed by rule set name.
+ */
+public interface MetricsMXBean {
+
+  /**
+   * Returns the number of rounds started per rule set.
+   *
+   * @return The counts.
+   */
+  Map<String, Long> getRoundsStarted();
+
+  /**
+   * Returns the number of times a shoe was shuffled per rule set.
+   *
+   * @return The counts.
+   */
+  Map<String, Long> getShuffles();
+
+  /**
+   * Returns the number of cards dealt per rule set.
+   *
+   * @return The counts.
+   */
+  Map<String, Long> getCardsDealt();
+
+  /**
+   * Returns the number of calls to calcScore per rule set.
+   *
+   * @return The counts.
+   */
+  Map<String, Long> getScoreCalls();
+
+  /**
+   * Returns the 99th percentile of the sampled round durations per rule set.
+   *
+   * @return The durations in nanoseconds.
+   */
+  Map<String, Long> getRoundP99Nanos();
+
+  /**
+   * Returns the 99th percentile of the shoe shuffle times per rule set.
+   *
+   * @return The times in nanoseconds.
+   */
+  Map<String, Long> getShuffleP99Nanos();
+
+  /**
+   * Returns the 99th percentile of the time to notify a hand's observers.
+   *
+   * @return The time in nanoseconds.
+   */
+  long getObserverP99Nanos();
+
+  /**
+   * Returns all metrics as text, as written by the periodic dump.
+   *
+   * @return The report.
+   */
+  String getReport();
+}
@@ -0,0 +1,192 @@
+package metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Collects the metrics of the games played in this process, per rule set,
+ * and publishes them through JMX and a periodic text dump.
+ *
+ * <p>Metrics are on unless the system property {@value #ENABLED_PROPERTY} is
+ * false. To keep the cost on the hot paths low, the dealer times only one
+ * round in {@value GameMetrics#SAMPLE_EVERY} and the shuffles, which only
+ * happen when the cut card comes out, and counts rounds, shuffles, cards
+ * and score calls in plain fields that it adds to the shared
+ * counters every {@value GameMetrics#SAMPLE_EVERY} rounds, or every round at
+ * a table with observers. Counts therefore lag by up to that many rounds
+ * per dealer until the dealer is done: the simulator and the server flush
+ * a dealer's counts through {@code Dealer.flushMetrics()} when they stop
+ * using it, and a dealer flushes when its rules change.</p>
+ */
+public final class MetricsRegistry implements MetricsMXBean {
+
+  /** The system property that turns metrics off when false. */
+  public static final String ENABLED_PROPERTY = "blackjack.metrics";
+
+  /** True unless metrics are turned off. */
+  public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+
+  /** The system property with the period of the metrics dump in seconds, if any. */
+  public static final String DUMP_PROPERTY = "blackjack.metrics.dump";
+
+  /** The JMX name the registry is registered under. */
+  public static final String OBJECT_NAME = "blackjack:type=Metrics";
+
+  private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+  private final ConcurrentMap<String, GameMetrics> games = new ConcurrentHashMap<>();
+  private final Histogram observerNanos = new Histogram();
+  private final long created = System.nanoTime();
+
+  /**
+   * Returns the registry of this process.
+   *
+   * @return The registry.
+   */
+  public static MetricsRegistry global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Returns the metrics of a rule set, creating them on first use.
+   *
+   * @param rules The name of the rule set.
+   * @return The metrics.
+   */
+  public GameMetrics forRules(String rules) {
+    return games.computeIfAbsent(rules, GameMetrics::new);
+  }
+
+  /**
+   * Returns the times to notify a hand's observers.
+   *
+   * @return The histogram.
+   */
+  public Histogram getObserverNanos() {
+    return observerNanos;
+  }
+
+  /**
+   * Registers the registry with the platform MBean server, once.
+   *
+   * @throws JMException If the registry cannot be registered.
+   */
+  public void registerMBean() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      server.registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (InstanceAlreadyExistsException e) {
+      // already registered
+    }
+  }
+
+  /**
+   * Writes a report to a stream at a fixed rate, on a daemon thread, with
+   * the rounds per second over each period.
+   *
+   * @param out     The stream.
+   * @param seconds The period in seconds.
+   * @return The scheduler; shut it down to stop the dump.
+   */
+  public ScheduledExecutorService startDump(PrintStream out, long seconds) {
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "metrics-dump");
+      thread.setDaemon(true);
+      return thread;
+    });
+    Map<String, Long> previous = new HashMap<>();
+    long[] previousNanos = {System.nanoTime()};
+    scheduler.scheduleAtFixedRate(() -> {
+      long now = System.nanoTime();
+      out.print(report(previous, now - previousNanos[0]));
+      out.flush();
+      previous.clear();
+      previous.putAll(getRoundsStarted());
+      previousNanos[0] = now;
+    }, seconds, seconds, TimeUnit.SECONDS);
+    return scheduler;
+  }
+
+  @Override
+  public String getReport() {
+    return report(Map.of(), System.nanoTime() - created);
+  }
+
+  private String report(Map<String, Long> previousRounds, long nanos) {
+    StringBuilder text = new StringBuilder(512);
+    text.append(String.format(Locale.ROOT, "%-40s %12s %10s %10s %12s %12s %10s %10s %10s %10s%n",
+        "rules", "rounds", "rounds/s", "shuffles", "cards", "scores", "shuf.p50", "shuf.p99", "round.p50",
+        "round.p99"));
+    for (GameMetrics game : new TreeMap<>(games).values()) {
+      long rounds = game.getRoundsStarted();
+      double perSecond = nanos <= 0 ? 0
+          : (rounds - previousRounds.getOrDefault(game.getRules(), 0L)) * 1e9 / nanos;
+      text.append(String.format(Locale.ROOT, "%-40s %12d %10.0f %10d %12d %12d %10d %10d %10d %10d%n",
+          game.getRules(), rounds, perSecond, game.getShuffles(), game.getCardsDealt(),
+          game.getScoreCalls(), game.getShuffleNanos().getPercentile(50),
+          game.getShuffleNanos().getPercentile(99), game.getRoundNanos().getPercentile(50),
+          game.getRoundNanos().getPercentile(99)));
+    }
+    text.append(String.format(Locale.ROOT, "observer notifications: %d, p50 %d ns, p99 %d ns, max %d ns%n",
+        observerNanos.getCount(), observerNanos.getPercentile(50), observerNanos.getPercentile(99),
+        observerNanos.getMax()));
+    return text.toString();
+  }
+
+  private Map<String, Long> byRules(ToLongFunction<GameMetrics> metric) {
+    Map<String, Long> values = new TreeMap<>();
+    for (GameMetrics game : games.values()) {
+      values.put(game.getRules(), metric.applyAsLong(game));
+    }
+    return values;
+  }
+
+  @Override
+  public Map<String, Long> getRoundsStarted() {
+    return byRules(GameMetrics::getRoundsStarted);
+  }
+
+  @Override
+  public Map<String, Long> getShuffles() {
+    return byRules(GameMetrics::getShuffles);
+  }
+
+  @Override
+  public Map<String, Long> getCardsDealt() {
+    return byRules(GameMetrics::getCardsDealt);
+  }
+
+  @Override
+  public Map<String, Long> getScoreCalls() {
+    return byRules(GameMetrics::getScoreCalls);
+  }
+
+  @Override
+  public Map<String, Long> getRoundP99Nanos() {
+    return byRules(game -> game.getRoundNanos().getPercentile(99));
+  }
+
+  @Override
+  public Map<String, Long> getShuffleP99Nanos() {
+    return byRules(game -> game.getShuffleNanos().getPercentile(99));
+  }
+
+  @Override
+  public long getObserverP99Nanos() {
+    return observerNanos.getPercentile(99);
+  }
+}
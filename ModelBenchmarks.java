@@ -0,0 +1,165 @@
+package benchmark;
+
+import model.Card;
+import model.Dealer;
+import model.Deck;
+import model.Player;
+import model.RandomSource;
+import model.Shoe;
+import model.rules.BasicHitStrategy;
+import model.rules.DealerAlwaysWinsStrategy;
+import model.rules.HitStrategy;
+import model.rules.PlayerAlwaysWinsStrategy;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+import model.rules.Soft17HitStrategy;
+import model.rules.WinStrategy;
+
+/**
+ * Benchmarks the hot paths of the model: building and dealing decks, scoring
+ * hands, the rule strategies, the dealer's actions and full rounds under
+ * every combination of rules. Run it before and after a change and compare
+ * the ns/op and B/op columns.
+ */
+public class ModelBenchmarks {
+
+  private static final long MILLION = 1_000_000;
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args Optional text that benchmark names must contain, e.g. "round".
+   */
+  public static void main(String[] args) {
+    String filter = args.length > 0 ? args[0] : "";
+    Bench bench = new Bench(500 * MILLION, 1000 * MILLION, 5);
+    ModelBenchmarks benchmarks = new ModelBenchmarks(bench, filter);
+
+    System.out.println(Bench.header());
+    benchmarks.deck();
+    benchmarks.scoring();
+    benchmarks.strategies();
+    benchmarks.dealer();
+    benchmarks.rounds();
+    System.out.println("(sink " + bench.getSink() + ")");
+  }
+
+  private final Bench bench;
+  private final String filter;
+  private final RandomSource random = RandomSource.xoshiro(42);
+
+  private ModelBenchmarks(Bench bench, String filter) {
+    this.bench = bench;
+    this.filter = filter;
+  }
+
+  private void run(String name, int opsPerRun, Bench.Op op) {
+    if (name.contains(filter)) {
+      System.out.println(bench.run(name, opsPerRun, op));
+    }
+  }
+
+  private void deck() {
+    run("deck.new", 1, () -> new Deck(random).hashCode());
+    run("deck.new+getCard*52", 1, () -> {
+      Deck deck = new Deck(random);
+      long sum = 0;
+      for (int i = 0; i < Card.COUNT; i++) {
+        sum += deck.getCard().getCode();
+      }
+      return sum;
+    });
+    Shoe shoe = new Shoe(random, 6, RuleSet.DEFAULT_PENETRATION);
+    run("deck.shoe(6).startRound+getCard*6", 1, () -> {
+      shoe.startRound();
+      long sum = 0;
+      for (int i = 0; i < 6; i++) {
+        sum += shoe.getCard().getCode();
+      }
+      return sum;
+    });
+  }
+
+  private void scoring() {
+    Player hard = hand(Card.Value.King, Card.Value.Seven);
+    Player aces = hand(Card.Value.Ace, Card.Value.Ace, Card.Value.Ace, Card.Value.Nine, Card.Value.Five);
+    run("player.calcScore(hard 17)", 1, hard::calcScore);
+    run("player.calcScore(A-A-A-9-5)", 1, aces::calcScore);
+    run("player.dealCard+clearHand", 1, () -> {
+      aces.clearHand();
+      aces.dealCard(Card.get(Card.Color.Spades, Card.Value.Ace), true);
+      aces.dealCard(Card.get(Card.Color.Hearts, Card.Value.Six), true);
+      return aces.calcScore();
+    });
+  }
+
+  private void strategies() {
+    Player soft17 = hand(Card.Value.Ace, Card.Value.Six);
+    Player hard17 = hand(Card.Value.Ten, Card.Value.Seven);
+    Player twenty = hand(Card.Value.King, Card.Value.Queen);
+    HitStrategy[] hitRules = {new BasicHitStrategy(), new Soft17HitStrategy()};
+    for (HitStrategy rule : hitRules) {
+      String name = rule.getClass().getSimpleName();
+      run("hit." + name + ".doHit(soft 17)", 1, () -> rule.doHit(soft17) ? 1 : 0);
+      run("hit." + name + ".doHit(hard 17)", 1, () -> rule.doHit(hard17) ? 1 : 0);
+    }
+    WinStrategy[] winRules = {new DealerAlwaysWinsStrategy(), new PlayerAlwaysWinsStrategy()};
+    for (WinStrategy rule : winRules) {
+      String name = rule.getClass().getSimpleName();
+      run("win." + name + ".isDealerWinner", 1, () -> rule.isDealerWinner(hard17, twenty) ? 1 : 0);
+    }
+    // The rules the dealer plays by: the same decisions, compiled into table lookups
+    for (RulesFactory.HitVariant variant : RulesFactory.HitVariant.values()) {
+      RuleSet rule = rules(variant, RulesFactory.WinVariant.DEALER_WINS_TIES).getRuleSet();
+      run("ruleset." + variant + ".doHit(soft 17)", 1, () -> rule.doHit(soft17) ? 1 : 0);
+      run("ruleset." + variant + ".doHit(hard 17)", 1, () -> rule.doHit(hard17) ? 1 : 0);
+    }
+    for (RulesFactory.WinVariant variant : RulesFactory.WinVariant.values()) {
+      RuleSet rule = rules(RulesFactory.HitVariant.BASIC, variant).getRuleSet();
+      run("ruleset." + variant + ".isDealerWinner", 1, () -> rule.isDealerWinner(hard17, twenty) ? 1 : 0);
+    }
+  }
+
+  private void dealer() {
+    Dealer dealer = new Dealer(new RulesFactory(), random);
+    Player player = new Player();
+    run("dealer.newGame+stand", 1, () -> {
+      dealer.newGame(player);
+      dealer.stand();
+      return dealer.calcScore();
+    });
+    run("dealer.newGame+hit+stand", 1, () -> {
+      dealer.newGame(player);
+      dealer.hit(player);
+      dealer.stand();
+      return dealer.calcScore();
+    });
+  }
+
+  private void rounds() {
+    for (RulesFactory rules : RulesFactory.allCombinations()) {
+      Dealer dealer = new Dealer(rules, random);
+      Player player = new Player();
+      run("round." + rules, 1, () -> {
+        dealer.newGame(player);
+        while (player.calcScore() < 17 && dealer.hit(player)) {
+          // keep hitting
+        }
+        dealer.stand();
+        return dealer.isDealerWinner(player) ? 1 : 0;
+      });
+    }
+  }
+
+  private static RulesFactory rules(RulesFactory.HitVariant hit, RulesFactory.WinVariant win) {
+    return new RulesFactory(hit, RulesFactory.DealVariant.AMERICAN, win);
+  }
+
+  private static Player hand(Card.Value... values) {
+    Player player = new Player();
+    for (Card.Value value : values) {
+      player.dealCard(Card.get(Card.Color.Clubs, value), true);
+    }
+    return player;
+  }
+}
@@ -0,0 +1,204 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.rules.RulesFactory;
+
+/**
+ * A Blackjack table with one to seven seats sharing one deck and one dealer.
+ * Every seat plays its own hand against the dealer; once all seats have
+ * stood, the dealer plays a single hand that settles all of them.
+ */
+public class MultiSeatGame {
+
+  /**
+   * The most seats a table can have.
+   */
+  public static final int MAX_SEATS = 7;
+
+  private final Dealer dealer;
+  private final List<Player> seats = new ArrayList<>();
+  private final boolean[] standing;
+  private final boolean[] dealerWon;
+  private boolean roundInProgress;
+  private int playerWins;
+  private int dealerWins;
+
+  /**
+   * Creates a table.
+   *
+   * @param rulesFactory The factory that provides the rules.
+   * @param seatCount    The number of seats, from 1 to {@link #MAX_SEATS}.
+   */
+  public MultiSeatGame(RulesFactory rulesFactory, int seatCount) {
+    this(new Dealer(rulesFactory), seatCount);
+  }
+
+  /**
+   * Creates a table run by the given dealer.
+   *
+   * @param dealer    The dealer.
+   * @param seatCount The number of seats, from 1 to {@link #MAX_SEATS}.
+   */
+  public MultiSeatGame(Dealer dealer, int seatCount) {
+    if (seatCount < 1 || seatCount > MAX_SEATS) {
+      throw new IllegalArgumentException("A table has 1 to " + MAX_SEATS + " seats, not " + seatCount);
+    }
+    this.dealer = dealer;
+    for (int i = 0; i < seatCount; i++) {
+      seats.add(new Player());
+    }
+    standing = new boolean[seatCount];
+    dealerWon = new boolean[seatCount];
+  }
+
+  /**
+   * Returns the number of seats.
+   *
+   * @return The number of seats.
+   */
+  public int getSeatCount() {
+    return seats.size();
+  }
+
+  /**
+   * Starts a new round for all seats.
+   *
+   * @return True if a new round could be started.
+   */
+  public boolean newGame() {
+    if (roundInProgress || !dealer.newGame(seats)) {
+      return false;
+    }
+    Arrays.fill(standing, false);
+    Arrays.fill(dealerWon, false);
+    roundInProgress = true;
+    return true;
+  }
+
+  /**
+   * Gives a seat another card.
+   *
+   * @param seat The seat, from 0.
+   * @return True if the seat got a new card.
+   */
+  public boolean hit(int seat) {
+    return roundInProgress && !standing[seat] && dealer.hit(seats.get(seat));
+  }
+
+  /**
+   * A seat takes no more cards. When the last seat stands, the dealer plays
+   * and the round is settled.
+   *
+   * @param seat The seat, from 0.
+   * @return True if the seat could stand.
+   */
+  public boolean stand(int seat) {
+    if (!roundInProgress || standing[seat]) {
+      return false;
+    }
+    standing[seat] = true;
+    for (boolean done : standing) {
+      if (!done) {
+        return true;
+      }
+    }
+    dealer.stand();
+    for (int i = 0; i < seats.size(); i++) {
+      dealerWon[i] = dealer.isDealerWinner(seats.get(i));
+      if (dealerWon[i]) {
+        dealerWins++;
+      } else {
+        playerWins++;
+      }
+    }
+    roundInProgress = false;
+    return true;
+  }
+
+  /**
+   * Checks if a seat has stood in the current round.
+   *
+   * @param seat The seat, from 0.
+   * @return True if the seat takes no more cards.
+   */
+  public boolean isStanding(int seat) {
+    return standing[seat];
+  }
+
+  /**
+   * Checks if the round is settled.
+   *
+   * @return True if no round is in progress.
+   */
+  public boolean isGameOver() {
+    return !roundInProgress;
+  }
+
+  /**
+   * Checks if the dealer won against a seat in the last settled round.
+   *
+   * @param seat The seat, from 0.
+   * @return True if the dealer won.
+   */
+  public boolean isDealerWinner(int seat) {
+    return dealerWon[seat];
+  }
+
+  /**
+   * Returns the player in a seat.
+   *
+   * @param seat The seat, from 0.
+   * @return The player.
+   */
+  public Player getSeat(int seat) {
+    return seats.get(seat);
+  }
+
+  /**
+   * Returns the dealer.
+   *
+   * @return The dealer.
+   */
+  public Dealer getDealer() {
+    return dealer;
+  }
+
+  /**
+   * Returns a read-only snapshot of a seat's hand.
+   *
+   * @param seat The seat, from 0.
+   * @return The snapshot.
+   */
+  public HandSnapshot getSeatHand(int seat) {
+    return seats.get(seat).snapshot();
+  }
+
+  /**
+   * Returns a read-only snapshot of the dealer's hand.
+   *
+   * @return The snapshot.
+   */
+  public HandSnapshot getDealerHand() {
+    return dealer.snapshot();
+  }
+
+  /**
+   * Gets the number of hands won by the players over all seats.
+   *
+   * @return The number of player wins.
+   */
+  public int getPlayerWins() {
+    return playerWins;
+  }
+
+  /**
+   * Gets the number of hands won by the dealer over all seats.
+   *
+   * @return The number of dealer wins.
+   */
+  public int getDealerWins() {
+    return dealerWins;
+  }
+}
@@ -0,0 +1,23 @@
+package metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A round being started: the rules refreshed, a deck shuffled and the first
+ * cards dealt to every seat and the dealer.
+ */
+@Name("blackjack.NewGame")
+@Label("New Game")
+@Description("Starting a round and dealing the first cards")
+public final class NewGameEvent extends TableEvent {
+
+  /** The number of seats dealt to. */
+  @Label("Seats")
+  public int seats;
+
+  /** The number of cards dealt from the deck so far this round. */
+  @Label("Cards Dealt")
+  public int cardsDealt;
+}
@@ -1,5 +1,6 @@
 package model.rules;
 
+import java.util.List;
 import model.Dealer;
 import model.Deck;
 import model.Player;
@@ -19,5 +20,19 @@ public interface NewGameStrategy {
    * @param player The player to deal cards to.
    * @return True if the game could be started, false otherwise.
    */
-  boolean newGame(Deck deck, Dealer dealer, Player player);
+  default boolean newGame(Deck deck, Dealer dealer, Player player) {
+    return newGame(deck, dealer, List.of(player));
+  }
+
+  /**
+   * Encapsulates the start of a new game at a table with several seats. Deals
+   * cards to the players, seat by seat, and to the dealer according to a
+   * specific rule.
+   *
+   * @param deck The deck to use to draw cards from.
+   * @param dealer The dealer to deal cards to.
+   * @param players The players to deal cards to, in seat order.
+   * @return True if the game could be started, false otherwise.
+   */
+  boolean newGame(Deck deck, Dealer dealer, List<? extends Player> players);
 }
@@ -0,0 +1,28 @@
+package metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The observers of a hand being notified, on whatever thread delivers the
+ * notification. The duration is the time spent in the observers, e.g. a
+ * view printing and pausing.
+ */
+@Name("blackjack.ObserverNotification")
+@Label("Observer Notification")
+@Description("Calling the observers of a hand")
+public final class ObserverEvent extends TableEvent {
+
+  /** The notification: update, cardDealt or gameOver. */
+  @Label("Notification")
+  public String notification;
+
+  /** True for the dealer's hand. */
+  @Label("Dealer Hand")
+  public boolean dealer;
+
+  /** The number of observers called. */
+  @Label("Observers")
+  public int observers;
+}
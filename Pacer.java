@@ -0,0 +1,69 @@
+package view;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides how long the view waits between steps of the game, e.g. after a
+ * card is dealt. The wait is measured from the end of the previous wait, so
+ * time spent rendering counts towards it.
+ */
+public interface Pacer {
+
+  /**
+   * The system property with the delay in milliseconds; 0 plays at full speed.
+   */
+  String DELAY_PROPERTY = "blackjack.delay";
+
+  /**
+   * Waits until the next step.
+   */
+  void pause();
+
+  /**
+   * Returns a pacer that never waits, for scripted games and output to files.
+   *
+   * @return The pacer.
+   */
+  static Pacer none() {
+    return () -> { };
+  }
+
+  /**
+   * Returns a pacer that lets at least a fixed time pass between steps.
+   *
+   * @param millis The time between steps in milliseconds; 0 never waits.
+   * @return The pacer.
+   */
+  static Pacer fixedDelay(long millis) {
+    if (millis <= 0) {
+      return none();
+    }
+    long interval = millis * 1_000_000L;
+    return new Pacer() {
+      private long last = System.nanoTime() - interval;
+
+      @Override
+      public synchronized void pause() {
+        long deadline = last + interval;
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(this, wait);
+          if (Thread.currentThread().isInterrupted()) {
+            break;
+          }
+        }
+        last = System.nanoTime();
+      }
+    };
+  }
+
+  /**
+   * Returns the pacer configured by {@link #DELAY_PROPERTY}, waiting one
+   * second between steps if the property is not set.
+   *
+   * @return The pacer.
+   */
+  static Pacer fromSystemProperties() {
+    return fixedDelay(Long.getLong(DELAY_PROPERTY, 1000));
+  }
+}
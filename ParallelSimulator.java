@@ -0,0 +1,118 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.RandomSource;
+import model.rules.RulesFactory;
+
+/**
+ * Spreads simulated rounds over several threads.
+ * The rounds are split into fixed size chunks, and every chunk shuffles with
+ * its own random source split off a master seed in chunk order. Which thread plays
+ * a chunk does not matter, so a seed gives the same counts for any number of
+ * threads. Each thread counts into its own result and the results are merged
+ * at the end.
+ */
+public class ParallelSimulator {
+
+  private static final long CHUNK_ROUNDS = 50_000;
+
+  private final Simulator simulator;
+  private final int threads;
+
+  /**
+   * Creates a parallel simulator.
+   *
+   * @param rules   The rules to play by.
+   * @param policy  The policy that plays the player's hand.
+   * @param threads The number of threads to use.
+   */
+  public ParallelSimulator(RulesFactory rules, PlayerPolicy policy, int threads) {
+    this(rules, policy, 1, threads);
+  }
+
+  /**
+   * Creates a parallel simulator for tables with several seats.
+   *
+   * @param rules   The rules to play by.
+   * @param policy  The policy that plays every seat's hand.
+   * @param seats   The number of seats at each table.
+   * @param threads The number of threads to use.
+   */
+  public ParallelSimulator(RulesFactory rules, PlayerPolicy policy, int seats, int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is needed");
+    }
+    this.simulator = new Simulator(rules, policy, seats);
+    this.threads = threads;
+  }
+
+  /**
+   * Plays a number of rounds.
+   *
+   * @param rounds The number of rounds to play.
+   * @param seed   The master seed.
+   * @return The merged outcome of the rounds, with the wall clock time as elapsed time.
+   * @throws InterruptedException If interrupted while waiting for the threads.
+   */
+  public SimulationResult run(long rounds, long seed) throws InterruptedException {
+    int chunks = (int) ((rounds + CHUNK_ROUNDS - 1) / CHUNK_ROUNDS);
+    RandomSource master = RandomSource.splittable(seed);
+    RandomSource[] chunkRandoms = new RandomSource[chunks];
+    for (int i = 0; i < chunks; i++) {
+      chunkRandoms[i] = master.split();
+    }
+
+    AtomicInteger nextChunk = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    try {
+      List<Future<SimulationResult>> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        workers.add(executor.submit(() -> {
+          SimulationResult result = new SimulationResult(simulator.getRulesName());
+          for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+            long chunkRounds = Math.min(CHUNK_ROUNDS, rounds - chunk * CHUNK_ROUNDS);
+            simulator.play(chunkRounds, chunkRandoms[chunk], result);
+          }
+          return result;
+        }));
+      }
+
+      SimulationResult total = new SimulationResult(simulator.getRulesName());
+      for (Future<SimulationResult> worker : workers) {
+        total.merge(worker.get());
+      }
+      total.setElapsedNanos(System.nanoTime() - start);
+      return total;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Simulation failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Simulates every combination of rules on all cores and prints a report.
+   *
+   * @param args Optional number of rounds per combination, number of threads, seed and
+   *             number of seats.
+   * @throws InterruptedException If interrupted while simulating.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    long rounds = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+    int seats = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+    System.out.println(SimulationResult.header());
+    for (RulesFactory rules : RulesFactory.allCombinations()) {
+      System.out.println(new ParallelSimulator(rules, PlayerPolicy.basic(), seats, threads).run(rounds, seed));
+    }
+  }
+}
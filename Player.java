@@ -1,7 +1,12 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import metrics.MetricsRegistry;
+import metrics.ObserverEvent;
 
 /**
  * Represents a player in the Blackjack game. A Player has a hand of cards
@@ -9,16 +14,42 @@ import java.util.List;
  */
 public class Player implements Subject {
 
-  protected List<Card.Mutable> hand;
+  private static final int[] cardScores = { 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 11 };
+
+  private static final int INITIAL_HAND_SIZE = 8;
+
+  // Cards [0, handSize) are the hand. Once a snapshot has seen the array it is
+  // never overwritten; clearHand() starts a new one instead.
+  protected Card[] hand;
+  protected int handSize;
+  private boolean handShared;
+  private HandSnapshot snapshot;
+  private long hiddenCards; // bit i is set when card i of the hand is face down
   protected final int maxScore = 21;
   private List<GameObserver> observers;
+  private Executor observerExecutor; // null notifies on the calling thread
+  private final Runnable updateTask = () -> notifyNow(GameObserver::update, "update");
+  private final Runnable cardDealtTask = () -> notifyNow(GameObserver::cardDealt, "cardDealt");
+  private final Runnable gameOverTask = () -> notifyNow(GameObserver::gameOver, "gameOver");
+  private GameEventStream events;
+  private long scoreCalls; // since the dealer last took them, see takeScoreCalls()
+  private long tableId; // for the flight recorder events
+  private int seat; // the seat at the dealer, for the game events
+  private String rules;
+
+  // Running totals of the hand, counting every Ace as 11.
+  private int visibleTotal;
+  private int visibleAces;
+  private int hiddenTotal;
+  private int hiddenAces;
+  private HandValue value = HandValue.of(0, false);
 
   /**
    * Constructor for Player, initializes the player's hand and observer list.
    */
   public Player() {
-    hand = new ArrayList<>();
-    observers = new ArrayList<>();
+    hand = new Card[INITIAL_HAND_SIZE];
+    observers = new CopyOnWriteArrayList<>();
   }
 
   private Player copy;
@@ -29,9 +60,17 @@ public class Player implements Subject {
   public Player(Player another) {
     this.copy = another.copy;
     // Make a deep copy of the hand
-    this.hand = new ArrayList<>(another.hand);
+    this.hand = another.hand.clone();
+    this.handSize = another.handSize;
+    this.hiddenCards = another.hiddenCards;
+    this.visibleTotal = another.visibleTotal;
+    this.visibleAces = another.visibleAces;
+    this.hiddenTotal = another.hiddenTotal;
+    this.hiddenAces = another.hiddenAces;
+    this.value = another.value;
     // Deep copy observers
-    this.observers = new ArrayList<>(another.observers);
+    this.observers = new CopyOnWriteArrayList<>(another.observers);
+    this.observerExecutor = another.observerExecutor;
   }
 
   public Player getCopy() {
@@ -40,15 +79,75 @@ public class Player implements Subject {
 
   /**
    * Adds a card to the Player's hand and notifies observers.
-   * The card to add to the hand.
+   *
+   * @param card The card to add to the hand.
+   * @param show True if the card is dealt face up, false if face down.
    */
-  public void dealCard(Card.Mutable card) {
-    hand.add(card);
-    notifyObservers(); // Notify observers when a new card is dealt
+  public void dealCard(Card card, boolean show) {
+    addCard(card, show);
+    if (events != null) {
+      events.cardDealt(isDealer() ? GameEvent.DEALER : seat, card, show);
+    }
+    dispatch(cardDealtTask); // Notify observers when a new card is dealt
   }
 
   /**
-   * Attaches an observer to the player.
+   * Replaces the hand with saved cards without notifying anyone.
+   *
+   * @param cards  The cards, first card first.
+   * @param hidden Bit i is set when card i is face down.
+   */
+  void restoreHand(Card[] cards, long hidden) {
+    clearHand();
+    for (int i = 0; i < cards.length; i++) {
+      addCard(cards[i], (hidden & (1L << i)) == 0);
+    }
+  }
+
+  /**
+   * Returns the hidden-card mask of the hand: bit i is set when card i is face down.
+   */
+  long getHiddenCards() {
+    return hiddenCards;
+  }
+
+  /**
+   * Returns a card in the hand, also if it is face down.
+   */
+  Card getCardAt(int index) {
+    return hand[index];
+  }
+
+  /**
+   * Returns the number of cards in the hand.
+   */
+  int getHandSize() {
+    return handSize;
+  }
+
+  private void addCard(Card card, boolean show) {
+    int score = cardScores[card.getValue().ordinal()];
+    int ace = card.getValue() == Card.Value.Ace ? 1 : 0;
+    if (show) {
+      visibleTotal += score;
+      visibleAces += ace;
+      value = evaluate(visibleTotal, visibleAces);
+    } else {
+      hiddenCards |= 1L << handSize;
+      hiddenTotal += score;
+      hiddenAces += ace;
+    }
+    if (handSize == hand.length) {
+      hand = Arrays.copyOf(hand, hand.length * 2);
+      handShared = false;
+    }
+    hand[handSize++] = card;
+    snapshot = null;
+  }
+
+  /**
+   * Attaches an observer to the player. Observers can be attached and
+   * detached from any thread.
    *
    * @param observer The observer to be added.
    */
@@ -70,61 +169,211 @@ public class Player implements Subject {
   }
 
   /**
-   * Notifies all attached observers of a change.
+   * Notifies all attached observers of a change, on the observer executor if
+   * one is set.
    */
   @Override
   public void notifyObservers() {
+    dispatch(updateTask);
+  }
+
+  /**
+   * Notifies all attached observers that the game is over.
+   */
+  protected void notifyGameOver() {
+    dispatch(gameOverTask);
+  }
+
+  private void dispatch(Runnable notification) {
+    if (observerExecutor == null) {
+      notification.run();
+    } else {
+      observerExecutor.execute(notification);
+    }
+  }
+
+  /**
+   * Sets the executor that notifies the observers, so the thread changing
+   * the hand does not wait for them.
+   *
+   * @param executor The executor, or null to notify on the calling thread.
+   */
+  public void setObserverExecutor(Executor executor) {
+    observerExecutor = executor;
+  }
+
+  /**
+   * Checks if any observer is attached to the hand.
+   */
+  boolean hasObservers() {
+    return !observers.isEmpty();
+  }
+
+  private void notifyNow(Consumer<GameObserver> notification, String name) {
+    if (observers.isEmpty()) {
+      return;
+    }
+    ObserverEvent event = new ObserverEvent();
+    event.begin();
+    long start = MetricsRegistry.ENABLED ? System.nanoTime() : 0;
     for (GameObserver observer : observers) {
-      observer.update();
+      notification.accept(observer);
+    }
+    if (MetricsRegistry.ENABLED) {
+      MetricsRegistry.global().getObserverNanos().record(System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.tableId = tableId;
+      event.rules = rules;
+      event.notification = name;
+      event.dealer = isDealer();
+      event.observers = observers.size();
+      event.commit();
     }
   }
 
   /**
-   * Returns the player's hand.
+   * Sets the table and rules that the flight recorder events of this hand
+   * are tagged with.
+   *
+   * @param tableId The server table, or 0.
+   * @param rules   The name of the rule set.
+   */
+  void setTable(long tableId, String rules) {
+    this.tableId = tableId;
+    this.rules = rules;
+  }
+
+  /**
+   * Sets the seat of the hand at the dealer, which the game events of the
+   * hand carry.
+   *
+   * @param seat The seat, from 0.
+   */
+  void setSeat(int seat) {
+    this.seat = seat;
+  }
+
+  /**
+   * Sets the stream that the cards dealt to this hand are published to.
+   *
+   * @param events The stream, or null to publish nothing.
+   */
+  void setEventStream(GameEventStream events) {
+    this.events = events;
+  }
+
+  /**
+   * Returns the stream that the cards dealt to this hand are published to.
+   *
+   * @return The stream, or null.
+   */
+  GameEventStream getEventStream() {
+    return events;
+  }
+
+  /**
+   * Checks if this hand is the dealer's.
+   *
+   * @return True for the dealer.
+   */
+  protected boolean isDealer() {
+    return false;
+  }
+
+  /**
+   * Returns the player's hand. Cards that are face down are returned as
+   * {@link Card#HIDDEN}.
    *
    * @return The player's hand.
    */
   public Iterable<Card> getHand() {
-    return new ArrayList<>(hand);
+    return snapshot();
+  }
+
+  /**
+   * Returns a read-only snapshot of the hand and its value. The snapshot
+   * shares the cards of the hand instead of copying them, and the same
+   * snapshot is returned until the hand changes.
+   *
+   * @return The snapshot.
+   */
+  public HandSnapshot snapshot() {
+    if (snapshot == null) {
+      if (handSize == 0) {
+        snapshot = HandSnapshot.EMPTY;
+      } else {
+        snapshot = new HandSnapshot(hand, handSize, hiddenCards, value);
+        handShared = true;
+      }
+    }
+    return snapshot;
+  }
+
+  /**
+   * Checks if a card in the hand is face down.
+   *
+   * @param index The position of the card in the hand.
+   * @return True if the card is face down.
+   */
+  protected boolean isHidden(int index) {
+    return (hiddenCards & (1L << index)) != 0;
   }
 
   /**
    * Reveals all cards in the player's hand.
    */
   public void showHand() {
-    for (Card.Mutable card : hand) {
-      card.show(true);
-    }
+    hiddenCards = 0;
+    snapshot = null;
+    visibleTotal += hiddenTotal;
+    visibleAces += hiddenAces;
+    hiddenTotal = 0;
+    hiddenAces = 0;
+    value = evaluate(visibleTotal, visibleAces);
   }
 
   /**
    * Calculates the score of the player's hand according to Blackjack rules.
+   * Only cards that are face up are counted.
    *
    * @return The score.
    */
   public int calcScore() {
-    int[] cardScores = { 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10, 11 };
-    assert (cardScores.length == Card.Value.Count.ordinal())
-        : "Card Scores array size does not match number of card values";
+    scoreCalls++;
+    return value.getTotal();
+  }
 
-    int score = 0;
+  /**
+   * Returns the number of calls to {@link #calcScore()} since the last call
+   * to this method, so the dealer can add them to the metrics once per round.
+   */
+  long takeScoreCalls() {
+    long calls = scoreCalls;
+    scoreCalls = 0;
+    return calls;
+  }
 
-    for (Card c : getHand()) {
-      if (c.getValue() != Card.Value.Hidden) {
-        score += cardScores[c.getValue().ordinal()];
-      }
-    }
+  /**
+   * Returns the value of the face up cards in the hand, kept up to date as
+   * cards are dealt.
+   *
+   * @return The hand value.
+   */
+  public HandValue getHandValue() {
+    return value;
+  }
 
-    // Reduce score by 10 for each Ace if score exceeds maxScore
-    if (score > maxScore) {
-      for (Card c : getHand()) {
-        if (c.getValue() == Card.Value.Ace && score > maxScore) {
-          score -= 10;
-        }
-      }
+  /**
+   * Turns a running total into a hand value, reducing the score by 10 for each
+   * Ace as long as the score exceeds maxScore.
+   */
+  private HandValue evaluate(int total, int aces) {
+    while (total > maxScore && aces > 0) {
+      total -= 10;
+      aces--;
     }
-
-    return score;
+    return HandValue.of(total, aces > 0);
   }
 
   /**
@@ -140,6 +389,17 @@ public class Player implements Subject {
    * Clears the player's hand.
    */
   public void clearHand() {
-    hand.clear();
+    if (handShared) {
+      hand = new Card[INITIAL_HAND_SIZE];
+      handShared = false;
+    }
+    handSize = 0;
+    snapshot = null;
+    hiddenCards = 0;
+    visibleTotal = 0;
+    visibleAces = 0;
+    hiddenTotal = 0;
+    hiddenAces = 0;
+    value = HandValue.of(0, false);
   }
 }
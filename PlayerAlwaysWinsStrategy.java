@@ -23,13 +23,15 @@ public class PlayerAlwaysWinsStrategy implements WinStrategy {
    */
   @Override
   public boolean isDealerWinner(Player dealer, Player player) {
-    if (player.calcScore() > dealer.getMaxScore()) {
+    int playerScore = player.getHandValue().getTotal();
+    int dealerScore = dealer.getHandValue().getTotal();
+    if (playerScore > dealer.getMaxScore()) {
       return false;
-    } else if (dealer.calcScore() > dealer.getMaxScore()) {
+    } else if (dealerScore > dealer.getMaxScore()) {
       return false;
-    } else if (dealer.calcScore() == player.calcScore()) {
+    } else if (dealerScore == playerScore) {
       return false; // Player wins on a tie.
     }
-    return dealer.calcScore() > player.calcScore();
+    return dealerScore > playerScore;
   }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package simulation;
+
+import model.HandValue;
+
+/**
+ * Decides whether a simulated player takes another card.
+ */
+public interface PlayerPolicy {
+
+  /**
+   * Checks if the player should take another card.
+   *
+   * @param player      The value of the player's hand.
+   * @param dealerScore The score of the dealer's visible cards.
+   * @return True if the player should take another card.
+   */
+  boolean doHit(HandValue player, int dealerScore);
+
+  /**
+   * Returns a policy that hits as long as the total is below a limit.
+   *
+   * @param limit The total to stand on.
+   * @return The policy.
+   */
+  static PlayerPolicy hitBelow(int limit) {
+    return (player, dealerScore) -> player.getTotal() < limit;
+  }
+
+  /**
+   * Returns a simplified basic strategy: hit soft 17 or less, hit hard 12 to
+   * 16 against a dealer showing 7 or more, and always hit 11 or less.
+   *
+   * @return The policy.
+   */
+  static PlayerPolicy basic() {
+    return (player, dealerScore) -> {
+      if (player.isSoft()) {
+        return player.getTotal() <= 17;
+      }
+      if (player.getTotal() <= 11) {
+        return true;
+      }
+      return player.getTotal() <= 16 && dealerScore >= 7;
+    };
+  }
+}
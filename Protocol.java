@@ -0,0 +1,116 @@
+package server;
+
+import java.util.Locale;
+import model.Card;
+import model.HandSnapshot;
+import model.MultiSeatGame;
+import view.Command;
+
+/**
+ * The line protocol spoken by the server. A client sends one command per
+ * line: PLAY, HIT, STAND or QUIT (or just p, h, s, q, in any case), or
+ * SEATS n between rounds to play n hands at once. The server answers every
+ * command with one line:
+ *
+ * <pre>
+ * OK &lt;state&gt;
+ * ERR &lt;message&gt; | &lt;state&gt;
+ * BYE &lt;player wins&gt; &lt;dealer wins&gt;
+ * </pre>
+ *
+ * <p>where the state is {@code P <score> <cards>} for every seat, then
+ * {@code D <score> <cards>}, then one word per seat telling if no round has
+ * been played yet (IDLE), if the round is still on (PLAYING) or who won that
+ * seat's hand (DEALER or PLAYER). Cards are two
+ * characters, value then color, e.g. {@code AS} for the Ace of Spades, {@code TH}
+ * for the Ten of Hearts and {@code ??} for a card that is face down.</p>
+ */
+final class Protocol {
+
+  private static final char[] VALUES = "23456789TJQKA".toCharArray();
+  private static final char[] COLORS = "HSDC".toCharArray();
+
+  private Protocol() {
+  }
+
+  /**
+   * Parses a command line.
+   *
+   * @param line The line sent by the client.
+   * @return The command, or INVALID if the line is not a command.
+   */
+  static Command parse(String line) {
+    switch (line.trim().toUpperCase(Locale.ROOT)) {
+      case "P":
+      case "PLAY":
+        return Command.PLAY;
+      case "H":
+      case "HIT":
+        return Command.HIT;
+      case "S":
+      case "STAND":
+        return Command.STAND;
+      case "Q":
+      case "QUIT":
+        return Command.QUIT;
+      default:
+        return Command.INVALID;
+    }
+  }
+
+  /**
+   * Parses a SEATS line.
+   *
+   * @param line The line sent by the client.
+   * @return The number of seats asked for, or -1 if the line is not a SEATS command.
+   */
+  static int parseSeats(String line) {
+    String[] words = line.trim().split("\\s+");
+    if (words.length != 2 || !words[0].equalsIgnoreCase("SEATS")) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(words[1]);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Appends the state of a game to a line.
+   *
+   * @param line   The line to append to.
+   * @param game   The game.
+   * @param played True if a round has been played on the table.
+   */
+  static void appendState(StringBuilder line, MultiSeatGame game, boolean played) {
+    for (int seat = 0; seat < game.getSeatCount(); seat++) {
+      HandSnapshot hand = game.getSeatHand(seat);
+      line.append(seat == 0 ? "P " : " P ").append(hand.getScore());
+      appendHand(line, hand);
+    }
+    HandSnapshot dealer = game.getDealerHand();
+    line.append(" D ").append(dealer.getScore());
+    appendHand(line, dealer);
+    for (int seat = 0; seat < game.getSeatCount(); seat++) {
+      if (!played) {
+        line.append(" IDLE");
+      } else if (!game.isGameOver()) {
+        line.append(" PLAYING");
+      } else {
+        line.append(game.isDealerWinner(seat) ? " DEALER" : " PLAYER");
+      }
+    }
+  }
+
+  private static void appendHand(StringBuilder line, HandSnapshot hand) {
+    for (Card card : hand) {
+      line.append(' ');
+      if (card == Card.HIDDEN) {
+        line.append("??");
+      } else {
+        line.append(VALUES[card.getValue().ordinal()]).append(COLORS[card.getColor().ordinal()]);
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A source of random numbers for shuffling decks.
+ * Seeded sources make it possible to deal the same games again, and
+ * {@link #split()} gives independent streams to use on other threads. A source
+ * is not shared between threads unless it says so.
+ */
+public interface RandomSource {
+
+  /**
+   * Returns a random number from 0 (inclusive) to bound (exclusive).
+   *
+   * @param bound The upper bound, must be positive.
+   * @return The random number.
+   */
+  int nextInt(int bound);
+
+  /**
+   * Returns a new source whose numbers are independent of this one's.
+   * Splitting a seeded source always gives the same new source.
+   *
+   * @return The new source.
+   */
+  RandomSource split();
+
+  /**
+   * Returns the unseeded source that uses the random generator of the calling
+   * thread. It can be shared between threads.
+   *
+   * @return The source.
+   */
+  static RandomSource threadLocal() {
+    return ThreadLocalRandomSource.INSTANCE;
+  }
+
+  /**
+   * Returns a seeded source backed by {@link java.util.SplittableRandom}.
+   *
+   * @param seed The seed.
+   * @return The source.
+   */
+  static RandomSource splittable(long seed) {
+    return new SplittableRandomSource(seed);
+  }
+
+  /**
+   * Returns a seeded xoshiro256** source.
+   *
+   * @param seed The seed.
+   * @return The source.
+   */
+  static RandomSource xoshiro(long seed) {
+    return new XoshiroRandomSource(seed);
+  }
+
+  /**
+   * Returns a seeded source using one of the JDK random generator algorithms,
+   * e.g. "L64X128MixRandom" or "Xoshiro256PlusPlus".
+   *
+   * @param algorithm The name of the algorithm.
+   * @param seed      The seed.
+   * @return The source.
+   * @throws IllegalArgumentException If the algorithm is not available.
+   */
+  static RandomSource of(String algorithm, long seed) {
+    return new GeneratorRandomSource(algorithm, seed);
+  }
+}
+
+/**
+ * Uses the random generator of the calling thread.
+ */
+final class ThreadLocalRandomSource implements RandomSource {
+
+  static final ThreadLocalRandomSource INSTANCE = new ThreadLocalRandomSource();
+
+  private ThreadLocalRandomSource() {
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return ThreadLocalRandom.current().nextInt(bound);
+  }
+
+  @Override
+  public RandomSource split() {
+    return this;
+  }
+}
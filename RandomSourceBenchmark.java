@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import model.Deck;
+import model.RandomSource;
+
+/**
+ * Compares how fast a deck is built and shuffled with each random source.
+ */
+public class RandomSourceBenchmark {
+
+  private static final int WARMUP_ROUNDS = 200_000;
+  private static final int MEASURED_ROUNDS = 2_000_000;
+
+  private static int sink;
+
+  /**
+   * Runs the benchmark and prints the shuffles per second for each source.
+   *
+   * @param args Optional number of measured rounds.
+   */
+  public static void main(String[] args) {
+    int rounds = args.length > 0 ? Integer.parseInt(args[0]) : MEASURED_ROUNDS;
+
+    Map<String, RandomSource> sources = new LinkedHashMap<>();
+    sources.put("ThreadLocalRandom", RandomSource.threadLocal());
+    sources.put("SplittableRandom", RandomSource.splittable(1));
+    sources.put("xoshiro256**", RandomSource.xoshiro(1));
+    sources.put("JDK L64X128MixRandom", RandomSource.of("L64X128MixRandom", 1));
+    sources.put("JDK Xoshiro256PlusPlus", RandomSource.of("Xoshiro256PlusPlus", 1));
+    sources.put("JDK Random", RandomSource.of("Random", 1));
+
+    for (RandomSource source : sources.values()) {
+      shuffle(source, WARMUP_ROUNDS);
+    }
+    for (Map.Entry<String, RandomSource> source : sources.entrySet()) {
+      long nanos = shuffle(source.getValue(), rounds);
+      System.out.printf("%-24s %8.1f ns/shuffle %12.0f shuffles/s%n",
+          source.getKey(), (double) nanos / rounds, rounds * 1e9 / nanos);
+    }
+    System.out.println("(sink " + sink + ")");
+  }
+
+  private static long shuffle(RandomSource source, int rounds) {
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      sink += new Deck(source).getCard().getCode();
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,150 @@
+package controller;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import model.Card;
+import view.Command;
+import view.View;
+
+/**
+ * A view that does all its rendering on one thread, the same one the game
+ * notifies its observers on. The controller's calls wait their turn behind
+ * the notifications already queued, so prompts and game events come out in
+ * the order they happened and a prompt never appears in the middle of a
+ * paced card.
+ */
+final class RenderThreadView implements View {
+
+  private final View view;
+  private final ExecutorService render;
+  private volatile Thread thread;
+
+  RenderThreadView(View view) {
+    this.view = view;
+    this.render = Executors.newSingleThreadExecutor(task -> {
+      thread = new Thread(task, "render");
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the executor to hand the game for its observer notifications.
+   *
+   * @return The render thread's executor.
+   */
+  ExecutorService getExecutor() {
+    return render;
+  }
+
+  /**
+   * Renders what is still queued and stops the render thread.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  void close() throws InterruptedException {
+    render.shutdown();
+    render.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  private <T> T call(Supplier<T> task) {
+    if (Thread.currentThread() == thread) {
+      return task.get(); // a notification rendering through the view
+    }
+    try {
+      return render.submit(task::get).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while rendering", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private void run(Runnable task) {
+    call(() -> {
+      task.run();
+      return null;
+    });
+  }
+
+  @Override
+  public void displayWelcomeMessage() {
+    run(view::displayWelcomeMessage);
+  }
+
+  @Override
+  public Command getInput() {
+    return call(view::getInput);
+  }
+
+  @Override
+  public void displayCard(Card card) {
+    run(() -> view.displayCard(card));
+  }
+
+  @Override
+  public void displayDealerHand(Iterable<Card> hand, int score) {
+    run(() -> view.displayDealerHand(hand, score));
+  }
+
+  @Override
+  public void displayPlayerHand(Iterable<Card> hand, int score) {
+    run(() -> view.displayPlayerHand(hand, score));
+  }
+
+  @Override
+  public void displayGameOver(boolean dealerIsWinner) {
+    run(() -> view.displayGameOver(dealerIsWinner));
+  }
+
+  @Override
+  public void displayErrorMessage(String message) {
+    run(() -> view.displayErrorMessage(message));
+  }
+
+  @Override
+  public void displayPrompt(String prompt) {
+    run(() -> view.displayPrompt(prompt));
+  }
+
+  @Override
+  public void displaySummary(int playerWins, int dealerWins) {
+    run(() -> view.displaySummary(playerWins, dealerWins));
+  }
+
+  @Override
+  public void pause() {
+    run(view::pause);
+  }
+
+  @Override
+  public void update() {
+    run(view::update);
+  }
+
+  @Override
+  public void cardDealt() {
+    run(view::cardDealt);
+  }
+
+  @Override
+  public void gameOver() {
+    run(view::gameOver);
+  }
+
+  @Override
+  public void handleInvalidCommand(Command command) {
+    run(() -> view.handleInvalidCommand(command));
+  }
+
+  @Override
+  public boolean promptForReplay() {
+    return call(view::promptForReplay);
+  }
+}
@@ -0,0 +1,164 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.rules.RuleSet;
+
+/**
+ * An append-only file of played rounds, one fixed-size record per round.
+ * The file is memory-mapped in large chunks, so appending a round copies a
+ * few bytes into the mapping and allocates nothing.
+ *
+ * <p>A record holds the round number, the rules, the player's commands, the
+ * cards in the order they were dealt and the result. The cards are recorded
+ * rather than the random seed, so a round replays the same way whatever
+ * random source dealt it; see {@link RoundReplay}.</p>
+ */
+public final class RoundJournal implements Closeable {
+
+  static final int MAGIC = 0x424a4a52; // "BJJR"
+  static final int VERSION = 2; // 2 records the rule set parameters instead of a combination index
+  static final int HEADER_SIZE = 64;
+  static final int RECORD_SIZE = 128;
+  static final int MAX_COMMANDS = 36;
+  static final int MAX_CARDS = 63;
+
+  // Offsets within a record.
+  static final int ROUND = 0;
+  static final int RESULT = 8; // 1 if the dealer won
+  static final int PLAYER_SCORE = 9;
+  static final int DEALER_SCORE = 10;
+  static final int COMMAND_COUNT = 11;
+  static final int CARD_COUNT = 12;
+  static final int RULES = 16; // RuleSet.ENCODED_SIZE bytes
+  static final int COMMANDS = RULES + RuleSet.ENCODED_SIZE;
+  static final int CARDS = COMMANDS + MAX_COMMANDS;
+
+  static final byte HIT = 'h';
+  static final byte STAND = 's';
+
+  private static final int CHUNK_RECORDS = 1 << 16;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  private MappedByteBuffer chunk;
+  private long chunkStart;
+  private long count;
+
+  private RoundJournal(FileChannel channel, MappedByteBuffer header, long count) {
+    this.channel = channel;
+    this.header = header;
+    this.count = count;
+    mapChunk();
+  }
+
+  /**
+   * Opens a journal for appending, creating the file if it does not exist.
+   *
+   * @param file The file.
+   * @return The journal.
+   * @throws IOException If the file cannot be opened or is not a round journal.
+   */
+  public static RoundJournal open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+      long count;
+      if (header.getInt(0) == 0) {
+        header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putLong(16, 0);
+        count = 0;
+      } else {
+        checkHeader(header, file);
+        count = header.getLong(16);
+      }
+      return new RoundJournal(channel, header, count);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  static void checkHeader(ByteBuffer header, Path file) throws IOException {
+    if (header.getInt(0) != MAGIC || header.getInt(8) != RECORD_SIZE) {
+      throw new IOException(file + " is not a round journal");
+    }
+    if (header.getInt(4) != VERSION) {
+      throw new IOException(file + " has unsupported version " + header.getInt(4));
+    }
+  }
+
+  /**
+   * Returns the number of rounds in the journal.
+   *
+   * @return The number of rounds.
+   */
+  public synchronized long size() {
+    return count;
+  }
+
+  /**
+   * Appends a finished round.
+   *
+   * @param rules        The rules the round was played by.
+   * @param commands     The player's commands, {@link #HIT} or {@link #STAND}.
+   * @param commandCount The number of commands.
+   * @param deck         The deck or shoe the round was dealt from.
+   * @param dealerWon    True if the dealer won.
+   * @param playerScore  The player's final score.
+   * @param dealerScore  The dealer's final score.
+   */
+  synchronized void append(RuleSet rules, byte[] commands, int commandCount, Deck deck, boolean dealerWon,
+      int playerScore, int dealerScore) {
+    int cards = deck.getRoundCardCount();
+    if (commandCount > MAX_COMMANDS || cards > MAX_CARDS) {
+      throw new IllegalStateException("The round does not fit in a journal record");
+    }
+    long position = HEADER_SIZE + count * RECORD_SIZE;
+    if (position + RECORD_SIZE > chunkStart + chunk.capacity()) {
+      mapChunk();
+    }
+    int at = (int) (position - chunkStart);
+    chunk.putLong(at + ROUND, count);
+    rules.encode(chunk, at + RULES);
+    chunk.put(at + RESULT, (byte) (dealerWon ? 1 : 0));
+    chunk.put(at + PLAYER_SCORE, (byte) playerScore);
+    chunk.put(at + DEALER_SCORE, (byte) dealerScore);
+    chunk.put(at + COMMAND_COUNT, (byte) commandCount);
+    chunk.put(at + CARD_COUNT, (byte) cards);
+    chunk.put(at + COMMANDS, commands, 0, commandCount);
+    for (int i = 0; i < cards; i++) {
+      chunk.put(at + CARDS + i, (byte) deck.getCardAt(deck.getRoundStart() + i).getCode());
+    }
+    count++;
+    // The count is written last, so a round is only part of the journal once it is complete.
+    header.putLong(16, count);
+  }
+
+  private void mapChunk() {
+    try {
+      chunkStart = HEADER_SIZE + count * RECORD_SIZE;
+      chunk = channel.map(FileChannel.MapMode.READ_WRITE, chunkStart, (long) CHUNK_RECORDS * RECORD_SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the mapped records to the file and closes it.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    chunk.force();
+    header.force();
+    channel.close();
+  }
+}
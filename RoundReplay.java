@@ -0,0 +1,201 @@
+package model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import model.rules.RuleSet;
+import model.rules.RulesFactory;
+
+/**
+ * Plays the rounds of a {@link RoundJournal} again through the dealer, with
+ * the recorded cards and commands, and checks that every round ends the way
+ * it was recorded.
+ */
+public final class RoundReplay {
+
+  /**
+   * The outcome of a replay.
+   */
+  public static final class Result {
+    private final long rounds;
+    private final long mismatches;
+    private final long firstMismatch;
+    private final long elapsedNanos;
+
+    Result(long rounds, long mismatches, long firstMismatch, long elapsedNanos) {
+      this.rounds = rounds;
+      this.mismatches = mismatches;
+      this.firstMismatch = firstMismatch;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of rounds replayed.
+     *
+     * @return The number of rounds.
+     */
+    public long getRounds() {
+      return rounds;
+    }
+
+    /**
+     * Returns the number of rounds that did not end as recorded.
+     *
+     * @return The number of rounds.
+     */
+    public long getMismatches() {
+      return mismatches;
+    }
+
+    /**
+     * Returns the number of the first round that did not end as recorded.
+     *
+     * @return The round number, or -1 if all rounds matched.
+     */
+    public long getFirstMismatch() {
+      return firstMismatch;
+    }
+
+    /**
+     * Returns the number of rounds replayed per second.
+     *
+     * @return The rounds per second.
+     */
+    public double getRoundsPerSecond() {
+      return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d rounds, %d mismatches%s, %.0f rounds/s", rounds, mismatches,
+          firstMismatch < 0 ? "" : " (first: round " + firstMismatch + ")", getRoundsPerSecond());
+    }
+  }
+
+  /**
+   * A dealer and a player for the rounds played by one rule set, found by
+   * the rule set's encoded bytes so that a record is matched without
+   * decoding its rules.
+   */
+  private static final class Table {
+    private final int head; // hit limit, flags and decks
+    private final long penetration;
+    private final Dealer dealer;
+    private final Player player = new Player();
+
+    Table(int head, long penetration, RuleSet rules) {
+      this.head = head;
+      this.penetration = penetration;
+      this.dealer = new Dealer(new RulesFactory(rules));
+    }
+  }
+
+  private final List<Table> tables = new ArrayList<>();
+  private Table last;
+
+  /**
+   * Creates a replayer. A dealer is created for each rule set the first
+   * time a round played by it is replayed.
+   */
+  public RoundReplay() {
+  }
+
+  private Table table(MappedByteBuffer buffer, int at) {
+    int head = buffer.getInt(at + RoundJournal.RULES);
+    long penetration = buffer.getLong(at + RoundJournal.RULES + 4);
+    if (last != null && last.head == head && last.penetration == penetration) {
+      return last;
+    }
+    for (int i = 0; i < tables.size(); i++) {
+      Table table = tables.get(i);
+      if (table.head == head && table.penetration == penetration) {
+        last = table;
+        return table;
+      }
+    }
+    last = new Table(head, penetration, RuleSet.decode(buffer, at + RoundJournal.RULES));
+    tables.add(last);
+    return last;
+  }
+
+  /**
+   * Replays every round in a journal file.
+   *
+   * @param file The journal file.
+   * @return The outcome.
+   * @throws IOException If the file cannot be read or is not a round journal.
+   */
+  public Result replay(Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    RoundJournal.checkHeader(buffer, file);
+    long count = buffer.getLong(16);
+    long mismatches = 0;
+    long firstMismatch = -1;
+    long start = System.nanoTime();
+    for (long round = 0; round < count; round++) {
+      int at = (int) (RoundJournal.HEADER_SIZE + round * RoundJournal.RECORD_SIZE);
+      if (!replay(buffer, at)) {
+        if (mismatches++ == 0) {
+          firstMismatch = buffer.getLong(at + RoundJournal.ROUND);
+        }
+      }
+    }
+    return new Result(count, mismatches, firstMismatch, System.nanoTime() - start);
+  }
+
+  private boolean replay(MappedByteBuffer buffer, int at) {
+    Table table;
+    try {
+      table = table(buffer, at);
+    } catch (IllegalArgumentException e) {
+      return false; // the recorded rules are damaged
+    }
+    Dealer dealer = table.dealer;
+    Player player = table.player;
+    Card[] cards = new Card[buffer.get(at + RoundJournal.CARD_COUNT)];
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = Card.fromCode(buffer.get(at + RoundJournal.CARDS + i));
+    }
+    Deck deck = new Deck(cards);
+    try {
+      dealer.newGame(player, deck);
+      int commands = buffer.get(at + RoundJournal.COMMAND_COUNT);
+      for (int i = 0; i < commands; i++) {
+        if (buffer.get(at + RoundJournal.COMMANDS + i) == RoundJournal.HIT) {
+          dealer.hit(player);
+        } else {
+          dealer.stand();
+        }
+      }
+    } catch (IllegalStateException e) {
+      return false; // the round needed more cards than were recorded
+    }
+    return dealer.isGameOver()
+        && deck.getCardsRemaining() == 0
+        && dealer.isDealerWinner(player) == (buffer.get(at + RoundJournal.RESULT) == 1)
+        && player.calcScore() == buffer.get(at + RoundJournal.PLAYER_SCORE)
+        && dealer.calcScore() == buffer.get(at + RoundJournal.DEALER_SCORE);
+  }
+
+  /**
+   * Replays a journal file and prints the outcome.
+   *
+   * @param args The journal file.
+   * @throws IOException If the file cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: RoundReplay <journal>");
+      return;
+    }
+    System.out.println(new RoundReplay().replay(Paths.get(args[0])));
+  }
+}
@@ -0,0 +1,417 @@
+package model.rules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+import model.Player;
+
+/**
+ * A complete, immutable set of rules, compiled into lookup tables when it
+ * is created: whether the dealer hits, by hand total and softness, and
+ * whether the dealer wins, by both scores. A rule set holds no state of its
+ * own and one instance can be shared by any number of dealers and threads.
+ *
+ * <p>The tables are filled by asking the rule classes about every hand
+ * value once, so a compiled rule set decides exactly like the classes it
+ * was compiled from.</p>
+ *
+ * <p>Rule sets can be read from properties:</p>
+ * <pre>
+ * hit.limit=17          the score the dealer stands on
+ * hit.soft=false        true if the dealer also hits a soft total at the limit
+ * deal=american         american or international
+ * ties=dealer           who wins a tie: dealer or player
+ * decks=1               the number of decks shuffled together, 1 to 8
+ * penetration=0.75      the share of the shoe dealt before it is reshuffled, 0 to 1
+ * name=...              optional name
+ * </pre>
+ */
+public final class RuleSet implements HitStrategy, WinStrategy {
+
+  /** The prefix of the system properties read by {@link #fromSystemProperties()}. */
+  public static final String PROPERTY_PREFIX = "blackjack.rules.";
+
+  private static final int TOTALS = 32;
+  private static final NewGameStrategy AMERICAN = new AmericanNewGameStrategy();
+  private static final NewGameStrategy INTERNATIONAL = new InternationalNewGameStrategy();
+
+  /** The largest number of decks a rule set can deal from. */
+  public static final int MAX_DECKS = 8;
+
+  /** The share of the shoe dealt before it is reshuffled, unless the rules say otherwise. */
+  public static final double DEFAULT_PENETRATION = 0.75;
+
+  /** The number of bytes {@link #encode(ByteBuffer, int)} writes. */
+  public static final int ENCODED_SIZE = 12;
+
+  private static final int SOFT = 1;
+  private static final int INTERNATIONAL_DEAL = 2;
+  private static final int PLAYER_WINS_TIES = 4;
+
+  private final String name;
+  private final int combinationIndex;
+  private final int hitLimit;
+  private final boolean hitSoft;
+  private final RulesFactory.DealVariant deal;
+  private final RulesFactory.WinVariant ties;
+  private final int decks;
+  private final double penetration;
+  private final NewGameStrategy newGameRule;
+  private final boolean[] hit = new boolean[2 * TOTALS]; // by total * 2 + soft
+  private final boolean[] dealerWins = new boolean[TOTALS * TOTALS]; // by dealer * TOTALS + player
+
+  private RuleSet(String name, int combinationIndex, int hitLimit, boolean hitSoft, RulesFactory.DealVariant deal,
+      RulesFactory.WinVariant ties, int decks, double penetration, HitStrategy hitRule,
+      NewGameStrategy newGameRule, WinStrategy winRule) {
+    this.name = name;
+    this.combinationIndex = combinationIndex;
+    this.hitLimit = hitLimit;
+    this.hitSoft = hitSoft;
+    this.deal = deal;
+    this.ties = ties;
+    this.decks = decks;
+    this.penetration = penetration;
+    this.newGameRule = newGameRule;
+    Player[] hard = new Player[TOTALS];
+    for (int total = 0; total < TOTALS; total++) {
+      hard[total] = Hands.withValue(total, false);
+      hit[total * 2] = hitRule.doHit(hard[total]);
+      hit[total * 2 + 1] = total >= 11 && hitRule.doHit(Hands.withValue(total, true));
+    }
+    for (int dealer = 0; dealer < TOTALS; dealer++) {
+      for (int player = 0; player < TOTALS; player++) {
+        dealerWins[dealer * TOTALS + player] = winRule.isDealerWinner(hard[dealer], hard[player]);
+      }
+    }
+  }
+
+  /**
+   * Returns the rule set for a combination of the standard variants.
+   *
+   * @param hitLimit The score the dealer stands on.
+   * @param hitSoft  True if the dealer hits a soft total at the limit.
+   * @param deal     The rule for dealing a new game.
+   * @param ties     The rule for deciding ties.
+   * @return The rule set.
+   */
+  public static RuleSet of(int hitLimit, boolean hitSoft, RulesFactory.DealVariant deal,
+      RulesFactory.WinVariant ties) {
+    return of(hitLimit, hitSoft, deal, ties, 1, DEFAULT_PENETRATION, null);
+  }
+
+  /**
+   * Returns the rule set for a combination of the standard variants, dealt
+   * from several decks shuffled together.
+   *
+   * @param hitLimit The score the dealer stands on.
+   * @param hitSoft  True if the dealer hits a soft total at the limit.
+   * @param deal     The rule for dealing a new game.
+   * @param ties     The rule for deciding ties.
+   * @param decks    The number of decks, 1 to {@link #MAX_DECKS}.
+   * @return The rule set.
+   */
+  public static RuleSet of(int hitLimit, boolean hitSoft, RulesFactory.DealVariant deal,
+      RulesFactory.WinVariant ties, int decks) {
+    return of(hitLimit, hitSoft, deal, ties, decks, DEFAULT_PENETRATION, null);
+  }
+
+  /**
+   * Returns the rule set for a combination of the standard variants, dealt
+   * from a shoe of several decks that is reshuffled at the given penetration.
+   *
+   * @param hitLimit    The score the dealer stands on.
+   * @param hitSoft     True if the dealer hits a soft total at the limit.
+   * @param deal        The rule for dealing a new game.
+   * @param ties        The rule for deciding ties.
+   * @param decks       The number of decks, 1 to {@link #MAX_DECKS}.
+   * @param penetration The share of the shoe dealt before it is reshuffled, 0 to 1.
+   * @return The rule set.
+   */
+  public static RuleSet of(int hitLimit, boolean hitSoft, RulesFactory.DealVariant deal,
+      RulesFactory.WinVariant ties, int decks, double penetration) {
+    return of(hitLimit, hitSoft, deal, ties, decks, penetration, null);
+  }
+
+  private static RuleSet of(int hitLimit, boolean hitSoft, RulesFactory.DealVariant deal,
+      RulesFactory.WinVariant ties, int decks, double penetration, String name) {
+    if (hitLimit < 2 || hitLimit > 21) {
+      throw new IllegalArgumentException("The hit limit must be between 2 and 21: " + hitLimit);
+    }
+    if (decks < 1 || decks > MAX_DECKS) {
+      throw new IllegalArgumentException("The number of decks must be between 1 and " + MAX_DECKS + ": " + decks);
+    }
+    if (!(penetration >= 0 && penetration <= 1)) {
+      throw new IllegalArgumentException("The penetration must be between 0 and 1: " + penetration);
+    }
+    RulesFactory.HitVariant variant = hitSoft ? RulesFactory.HitVariant.SOFT_17 : RulesFactory.HitVariant.BASIC;
+    boolean standardShoe = decks == 1 && penetration == DEFAULT_PENETRATION;
+    int index = hitLimit == 17 && standardShoe ? RulesFactory.index(variant, deal, ties) : -1;
+    if (name == null) {
+      name = (hitLimit == 17 ? variant.toString() : (hitSoft ? "SOFT_" : "HARD_") + hitLimit)
+          + "/" + deal + "/" + ties + (decks == 1 ? "" : "/" + decks + "D")
+          + (penetration == DEFAULT_PENETRATION ? "" : "/P" + Math.round(penetration * 100));
+    }
+    return new RuleSet(name, index, hitLimit, hitSoft, deal, ties, decks, penetration,
+        hitSoft ? new Soft17HitStrategy(hitLimit) : new BasicHitStrategy(hitLimit),
+        deal == RulesFactory.DealVariant.INTERNATIONAL ? INTERNATIONAL : AMERICAN,
+        ties == RulesFactory.WinVariant.PLAYER_WINS_TIES ? new PlayerAlwaysWinsStrategy()
+            : new DealerAlwaysWinsStrategy());
+  }
+
+  /**
+   * Writes the parameters of the rule set, not its name, as
+   * {@value #ENCODED_SIZE} bytes: the hit limit, the soft, deal and ties
+   * flags, the number of decks, a spare byte and the penetration.
+   *
+   * @param buffer The buffer to write to.
+   * @param at     The position to write at; the buffer's position is not changed.
+   */
+  public void encode(ByteBuffer buffer, int at) {
+    int flags = (hitSoft ? SOFT : 0) | (deal == RulesFactory.DealVariant.INTERNATIONAL ? INTERNATIONAL_DEAL : 0)
+        | (ties == RulesFactory.WinVariant.PLAYER_WINS_TIES ? PLAYER_WINS_TIES : 0);
+    buffer.put(at, (byte) hitLimit).put(at + 1, (byte) flags).put(at + 2, (byte) decks).put(at + 3, (byte) 0)
+        .putDouble(at + 4, penetration);
+  }
+
+  /**
+   * Reads a rule set written by {@link #encode(ByteBuffer, int)}. The
+   * standard combinations are not compiled again; their shared instances
+   * are returned.
+   *
+   * @param buffer The buffer to read from.
+   * @param at     The position to read at; the buffer's position is not changed.
+   * @return The rule set.
+   * @throws IllegalArgumentException If the bytes do not hold valid rules.
+   */
+  public static RuleSet decode(ByteBuffer buffer, int at) {
+    int hitLimit = buffer.get(at);
+    int flags = buffer.get(at + 1);
+    int decks = buffer.get(at + 2);
+    double penetration = buffer.getDouble(at + 4);
+    if ((flags & ~(SOFT | INTERNATIONAL_DEAL | PLAYER_WINS_TIES)) != 0) {
+      throw new IllegalArgumentException("Bad rule flags: " + flags);
+    }
+    boolean hitSoft = (flags & SOFT) != 0;
+    RulesFactory.DealVariant deal = (flags & INTERNATIONAL_DEAL) != 0 ? RulesFactory.DealVariant.INTERNATIONAL
+        : RulesFactory.DealVariant.AMERICAN;
+    RulesFactory.WinVariant ties = (flags & PLAYER_WINS_TIES) != 0 ? RulesFactory.WinVariant.PLAYER_WINS_TIES
+        : RulesFactory.WinVariant.DEALER_WINS_TIES;
+    if (hitLimit == 17 && decks == 1 && penetration == DEFAULT_PENETRATION) {
+      return RulesFactory.combination(RulesFactory.index(
+          hitSoft ? RulesFactory.HitVariant.SOFT_17 : RulesFactory.HitVariant.BASIC, deal, ties));
+    }
+    return of(hitLimit, hitSoft, deal, ties, decks, penetration);
+  }
+
+  /**
+   * Reads a rule set from properties; missing keys take the default rules.
+   *
+   * @param properties The properties, with the keys described above.
+   * @return The rule set.
+   * @throws IllegalArgumentException If a value is not valid.
+   */
+  public static RuleSet fromProperties(Properties properties) {
+    return fromProperties(properties, "");
+  }
+
+  private static RuleSet fromProperties(Properties properties, String prefix) {
+    String limit = properties.getProperty(prefix + "hit.limit", "17").trim();
+    int hitLimit;
+    try {
+      hitLimit = Integer.parseInt(limit);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Bad hit.limit: " + limit, e);
+    }
+    boolean hitSoft = Boolean.parseBoolean(properties.getProperty(prefix + "hit.soft", "false").trim());
+    String deal = properties.getProperty(prefix + "deal", "american").trim().toUpperCase(Locale.ROOT);
+    String ties = properties.getProperty(prefix + "ties", "dealer").trim().toUpperCase(Locale.ROOT);
+    RulesFactory.WinVariant win;
+    if (ties.equals("DEALER")) {
+      win = RulesFactory.WinVariant.DEALER_WINS_TIES;
+    } else if (ties.equals("PLAYER")) {
+      win = RulesFactory.WinVariant.PLAYER_WINS_TIES;
+    } else {
+      throw new IllegalArgumentException("Bad ties: " + ties);
+    }
+    String decks = properties.getProperty(prefix + "decks", "1").trim();
+    int deckCount;
+    try {
+      deckCount = Integer.parseInt(decks);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Bad decks: " + decks, e);
+    }
+    String penetration = properties.getProperty(prefix + "penetration",
+        String.valueOf(DEFAULT_PENETRATION)).trim();
+    double share;
+    try {
+      share = Double.parseDouble(penetration);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Bad penetration: " + penetration, e);
+    }
+    return of(hitLimit, hitSoft, RulesFactory.DealVariant.valueOf(deal), win, deckCount, share,
+        properties.getProperty(prefix + "name"));
+  }
+
+  /**
+   * Reads a rule set from a properties file.
+   *
+   * @param file The file.
+   * @return The rule set.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException If a value is not valid.
+   */
+  public static RuleSet load(Path file) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+    return fromProperties(properties);
+  }
+
+  /**
+   * Reads a rule set from system properties: the file named by
+   * {@code blackjack.rules.file}, if set, and then any of the keys above
+   * prefixed with {@value #PROPERTY_PREFIX}, which override the file.
+   *
+   * @return The rule set.
+   * @throws IOException If the file cannot be read.
+   * @throws IllegalArgumentException If a value is not valid.
+   */
+  public static RuleSet fromSystemProperties() throws IOException {
+    Properties properties = new Properties();
+    String file = System.getProperty(PROPERTY_PREFIX + "file");
+    if (file != null) {
+      try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+        Properties fromFile = new Properties();
+        fromFile.load(reader);
+        for (String key : fromFile.stringPropertyNames()) {
+          properties.setProperty(PROPERTY_PREFIX + key, fromFile.getProperty(key));
+        }
+      }
+    }
+    for (String key : System.getProperties().stringPropertyNames()) {
+      if (key.startsWith(PROPERTY_PREFIX)) {
+        properties.setProperty(key, System.getProperty(key));
+      }
+    }
+    return fromProperties(properties, PROPERTY_PREFIX);
+  }
+
+  /**
+   * Checks if the dealer should take more cards, by one table lookup.
+   *
+   * @param dealer The dealer.
+   * @return True if the dealer should take another card.
+   */
+  @Override
+  public boolean doHit(Player dealer) {
+    int total = Math.min(dealer.getHandValue().getTotal(), TOTALS - 1);
+    return hit[total * 2 + (dealer.getHandValue().isSoft() ? 1 : 0)];
+  }
+
+  /**
+   * Checks if the dealer wins over a player, by one table lookup.
+   *
+   * @param dealer The dealer.
+   * @param player The player.
+   * @return True if the dealer wins.
+   */
+  @Override
+  public boolean isDealerWinner(Player dealer, Player player) {
+    int dealerScore = Math.min(dealer.getHandValue().getTotal(), TOTALS - 1);
+    int playerScore = Math.min(player.getHandValue().getTotal(), TOTALS - 1);
+    return dealerWins[dealerScore * TOTALS + playerScore];
+  }
+
+  /**
+   * Returns the rule for dealing a new game.
+   *
+   * @return The rule, shared by all rule sets that deal the same way.
+   */
+  public NewGameStrategy getNewGameRule() {
+    return newGameRule;
+  }
+
+  /**
+   * Returns the number of decks shuffled together in the shoe.
+   *
+   * @return The number of decks.
+   */
+  public int getDecks() {
+    return decks;
+  }
+
+  /**
+   * Returns the score the dealer stands on.
+   *
+   * @return The hit limit.
+   */
+  public int getHitLimit() {
+    return hitLimit;
+  }
+
+  /**
+   * Checks if the dealer also hits a soft total at the limit.
+   *
+   * @return True if the dealer hits a soft total at the limit.
+   */
+  public boolean isHitSoft() {
+    return hitSoft;
+  }
+
+  /**
+   * Returns the rule for dealing a new game.
+   *
+   * @return The deal variant.
+   */
+  public RulesFactory.DealVariant getDeal() {
+    return deal;
+  }
+
+  /**
+   * Returns who wins a tie.
+   *
+   * @return The tie variant.
+   */
+  public RulesFactory.WinVariant getTies() {
+    return ties;
+  }
+
+  /**
+   * Returns the share of the shoe dealt before it is reshuffled.
+   *
+   * @return The penetration, from 0 to 1; 0 reshuffles before every round.
+   */
+  public double getPenetration() {
+    return penetration;
+  }
+
+  /**
+   * Returns the position of the rule set in {@link RulesFactory#allCombinations()}.
+   *
+   * @return The index, or -1 if the rule set is not one of the standard combinations.
+   */
+  public int getCombinationIndex() {
+    return combinationIndex;
+  }
+
+  /**
+   * Returns the name of the rule set, e.g. BASIC/AMERICAN/DEALER_WINS_TIES.
+   *
+   * @return The name.
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,58 @@
+package model.rules;
+
+import model.Card;
+import model.HandValue;
+import model.Player;
+
+/**
+ * Checks that a compiled rule set decides whether the dealer hits exactly
+ * like the hit strategy classes, for every hand of up to three cards under
+ * every hit limit. The project has no test framework, so the test is run as
+ * a program and exits with an error if a check fails.
+ */
+public final class RuleSetHitTableTest {
+
+  private RuleSetHitTableTest() {
+  }
+
+  /**
+   * Runs the test.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    for (int limit = 2; limit <= 21; limit++) {
+      for (boolean soft : new boolean[] {false, true}) {
+        RuleSet rules = RuleSet.of(limit, soft, RulesFactory.DealVariant.AMERICAN,
+            RulesFactory.WinVariant.DEALER_WINS_TIES);
+        HitStrategy expected = soft ? new Soft17HitStrategy(limit) : new BasicHitStrategy(limit);
+        checkHands(rules, expected, new Player(), 3);
+      }
+    }
+    for (int total = 11; total <= 21; total++) {
+      HandValue value = Hands.withValue(total, true).getHandValue();
+      check(value.getTotal() == total && value.isSoft(), "Hands.withValue(" + total + ", true) is " + value);
+    }
+    System.out.println("ok");
+  }
+
+  private static void checkHands(RuleSet rules, HitStrategy expected, Player hand, int cards) {
+    if (cards == 0) {
+      return;
+    }
+    for (int i = 0; i < Card.Value.Count.ordinal(); i++) {
+      Player next = new Player(hand);
+      next.dealCard(Card.get(Card.Color.Clubs, Card.Value.values()[i]), true);
+      HandValue value = next.getHandValue();
+      check(rules.doHit(next) == expected.doHit(next), "limit=" + rules.getHitLimit() + " soft=" + rules.isHitSoft()
+          + " total=" + value.getTotal() + " soft=" + value.isSoft() + ": table=" + rules.doHit(next));
+      checkHands(rules, expected, next, cards - 1);
+    }
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new AssertionError(message);
+    }
+  }
+}
@@ -1,40 +1,218 @@
 package model.rules;
 
+import java.util.ArrayList;
+import java.util.List;
+import model.RandomSource;
+
 /**
  * Factory class for creating concrete rules used in the game.
- * This class provides methods to instantiate various strategies for hitting,
- * starting a new game, and determining the winner.
+ * This class provides methods to get the strategies for hitting, starting a
+ * new game, and determining the winner, all taken from one compiled
+ * {@link RuleSet} that can be replaced between rounds.
  */
 public class RulesFactory {
 
   /**
-   * Creates the rule to use for the dealer's hit behavior.
+   * The rules for when the dealer takes another card.
+   */
+  public enum HitVariant {
+    BASIC, SOFT_17
+  }
+
+  /**
+   * The rules for dealing the first cards of a game.
+   */
+  public enum DealVariant {
+    AMERICAN, INTERNATIONAL
+  }
+
+  /**
+   * The rules for deciding who wins a tie.
+   */
+  public enum WinVariant {
+    DEALER_WINS_TIES, PLAYER_WINS_TIES
+  }
+
+  private static final RuleSet[] COMBINATIONS = compileCombinations();
+
+  private volatile RuleSet ruleSet;
+  private final RandomSource randomSource;
+
+  /**
+   * Creates a factory for the default rules: basic hit, American deal and the
+   * dealer winning ties.
+   */
+  public RulesFactory() {
+    this(HitVariant.BASIC, DealVariant.AMERICAN, WinVariant.DEALER_WINS_TIES);
+  }
+
+  /**
+   * Creates a factory for the given combination of rules.
+   *
+   * @param hitVariant  The dealer hit rule.
+   * @param dealVariant The rule for dealing a new game.
+   * @param winVariant  The rule for deciding ties.
+   */
+  public RulesFactory(HitVariant hitVariant, DealVariant dealVariant, WinVariant winVariant) {
+    this(COMBINATIONS[index(hitVariant, dealVariant, winVariant)], RandomSource.threadLocal());
+  }
+
+  /**
+   * Creates a factory for a rule set, e.g. one read from a configuration file.
+   *
+   * @param ruleSet The rules.
+   */
+  public RulesFactory(RuleSet ruleSet) {
+    this(ruleSet, RandomSource.threadLocal());
+  }
+
+  private RulesFactory(RuleSet ruleSet, RandomSource randomSource) {
+    this.ruleSet = ruleSet;
+    this.randomSource = randomSource;
+  }
+
+  static int index(HitVariant hit, DealVariant deal, WinVariant win) {
+    return (hit.ordinal() * DealVariant.values().length + deal.ordinal()) * WinVariant.values().length
+        + win.ordinal();
+  }
+
+  static RuleSet combination(int index) {
+    return COMBINATIONS[index];
+  }
+
+  private static RuleSet[] compileCombinations() {
+    RuleSet[] sets = new RuleSet[HitVariant.values().length * DealVariant.values().length
+        * WinVariant.values().length];
+    for (HitVariant hit : HitVariant.values()) {
+      for (DealVariant deal : DealVariant.values()) {
+        for (WinVariant win : WinVariant.values()) {
+          sets[index(hit, deal, win)] = RuleSet.of(17, hit == HitVariant.SOFT_17, deal, win);
+        }
+      }
+    }
+    return sets;
+  }
+
+  /**
+   * Replaces the rules. Dealers created by this factory pick up the new
+   * rules when they start their next round; rounds already underway finish
+   * by the rules they started with.
+   *
+   * @param ruleSet The new rules.
+   */
+  public void setRuleSet(RuleSet ruleSet) {
+    if (ruleSet == null) {
+      throw new IllegalArgumentException("ruleSet");
+    }
+    this.ruleSet = ruleSet;
+  }
+
+  /**
+   * Returns the current rules.
+   *
+   * @return The rule set.
+   */
+  public RuleSet getRuleSet() {
+    return ruleSet;
+  }
+
+  /**
+   * Returns a factory for the same rules whose dealers shuffle with streams
+   * split off the given random source.
+   *
+   * @param randomSource The random source.
+   * @return The factory.
+   */
+  public RulesFactory withRandomSource(RandomSource randomSource) {
+    return new RulesFactory(ruleSet, randomSource);
+  }
+
+  /**
+   * Returns a factory for every combination of rules.
+   *
+   * @return The factories.
+   */
+  public static List<RulesFactory> allCombinations() {
+    List<RulesFactory> factories = new ArrayList<>();
+    for (HitVariant hit : HitVariant.values()) {
+      for (DealVariant deal : DealVariant.values()) {
+        for (WinVariant win : WinVariant.values()) {
+          factories.add(new RulesFactory(hit, deal, win));
+        }
+      }
+    }
+    return factories;
+  }
+
+  /**
+   * Returns the position of the current rules in {@link #allCombinations()}.
+   *
+   * @return The index, or -1 if the rules are not one of the standard combinations.
+   */
+  public int getCombinationIndex() {
+    return ruleSet.getCombinationIndex();
+  }
+
+  /**
+   * Returns the combination of rules at a position in {@link #allCombinations()}.
+   *
+   * @param index The index.
+   * @return The factory.
+   * @throws IndexOutOfBoundsException If there is no such combination.
+   */
+  public static RulesFactory fromCombinationIndex(int index) {
+    return allCombinations().get(index);
+  }
+
+  /**
+   * Returns the rule to use for the dealer's hit behavior. The rule is part
+   * of the shared, immutable rule set and is not created anew.
    *
    * @return The HitStrategy rule to use for determining when the dealer should
    *         take additional cards.
    */
   public HitStrategy getHitRule() {
-    return new BasicHitStrategy();
+    return ruleSet;
   }
 
   /**
-   * Creates the rule to use when starting a new game.
+   * Returns the rule to use when starting a new game.
    *
    * @return The NewGameStrategy rule to use for dealing initial cards to the
    *         player and dealer.
    */
   public NewGameStrategy getNewGameRule() {
-    return new AmericanNewGameStrategy();
+    return ruleSet.getNewGameRule();
   }
 
   /**
-   * Creates the rule to use for determining the winner of the game.
+   * Returns the rule to use for determining the winner of the game.
    *
    * @return The WinStrategy rule to use for deciding the winner at the end of the
    *         game.
    */
   public WinStrategy getWinRule() {
-    // You can return any implementation you prefer.
-    return new DealerAlwaysWinsStrategy(); // Or new PlayerAlwaysWinsStrategy();
+    return ruleSet;
+  }
+
+  /**
+   * Creates the random source a new dealer shuffles with. Every call splits a
+   * new stream off the factory's source, so dealers created in the same order
+   * from a seeded factory deal the same games.
+   *
+   * @return The random source.
+   */
+  public synchronized RandomSource getRandomSource() {
+    return randomSource.split();
+  }
+
+  /**
+   * Returns the name of the current rules, e.g. BASIC/AMERICAN/DEALER_WINS_TIES.
+   *
+   * @return The name.
+   */
+  @Override
+  public String toString() {
+    return ruleSet.getName();
   }
-}
\ No newline at end of file
+}
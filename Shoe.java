@@ -0,0 +1,133 @@
+package model;
+
+/**
+ * A shoe of one or more decks that is dealt from round after round, like at
+ * a casino table. A cut card is placed at the given penetration; once it
+ * has come out, every card is gathered and the shoe is reshuffled in place
+ * before the next round, so no cards are allocated between rounds.
+ *
+ * <p>If a round runs out of cards before it is over, the cards of earlier
+ * rounds are shuffled back in behind the cards in play and the round goes
+ * on.</p>
+ */
+public class Shoe extends Deck {
+
+  private final RandomSource random;
+  private final int decks;
+  private final double penetration;
+  private final int cutCard;
+  private long shuffles = 1;
+
+  /**
+   * Creates a shuffled shoe.
+   *
+   * @param random      The random source used to shuffle the shoe.
+   * @param decks       The number of 52 card decks.
+   * @param penetration The share of the shoe dealt before the cut card comes
+   *                    out, from 0 to 1; at 0 the shoe is reshuffled before every round.
+   */
+  public Shoe(RandomSource random, int decks, double penetration) {
+    super(random, decks);
+    this.random = random;
+    this.decks = decks;
+    this.penetration = checkPenetration(penetration);
+    this.cutCard = (int) (size() * penetration);
+  }
+
+  /**
+   * Creates a shoe from saved cards, of which the first ones have already been dealt.
+   *
+   * @param random      The random source used to reshuffle the shoe.
+   * @param cards       The cards of the shoe, first card first.
+   * @param next        The number of cards already dealt.
+   * @param roundStart  The position of the first card of the current round.
+   * @param penetration The share of the shoe dealt before the cut card comes out.
+   */
+  Shoe(RandomSource random, Card[] cards, int next, int roundStart, double penetration) {
+    super(cards, next);
+    if (cards.length == 0 || cards.length % Card.COUNT != 0) {
+      throw new IllegalArgumentException("A shoe holds whole decks: " + cards.length + " cards");
+    }
+    restoreRoundStart(roundStart);
+    this.random = random;
+    this.decks = cards.length / Card.COUNT;
+    this.penetration = checkPenetration(penetration);
+    this.cutCard = (int) (size() * penetration);
+  }
+
+  private static double checkPenetration(double penetration) {
+    if (!(penetration >= 0 && penetration <= 1)) {
+      throw new IllegalArgumentException("The penetration must be between 0 and 1: " + penetration);
+    }
+    return penetration;
+  }
+
+  /**
+   * Starts a round, first reshuffling the shoe if the cut card has come out.
+   *
+   * @return True if the shoe was reshuffled.
+   */
+  public boolean startRound() {
+    boolean reshuffle = isCutCardOut();
+    if (reshuffle) {
+      reshuffle(random);
+      shuffles++;
+    }
+    markRoundStart();
+    return reshuffle;
+  }
+
+  /**
+   * Checks if the cut card has come out, so the shoe is reshuffled before
+   * the next round.
+   *
+   * @return True if the cut card is out.
+   */
+  public boolean isCutCardOut() {
+    return getDealtCount() >= cutCard;
+  }
+
+  /**
+   * Deals the next card. If the shoe is empty, the cards of earlier rounds
+   * are shuffled back in first.
+   *
+   * @return The card.
+   * @throws IllegalStateException If the current round has dealt every card in the shoe.
+   */
+  @Override
+  public Card getCard() {
+    if (getCardsRemaining() == 0 && getRoundStart() > 0) {
+      collectDiscards(random);
+      shuffles++;
+    }
+    return super.getCard();
+  }
+
+  /**
+   * Returns the number of 52 card decks in the shoe.
+   *
+   * @return The number of decks.
+   */
+  public int getDecks() {
+    return decks;
+  }
+
+  /**
+   * Returns the share of the shoe dealt before the cut card comes out.
+   *
+   * @return The penetration, from 0 to 1.
+   */
+  public double getPenetration() {
+    return penetration;
+  }
+
+  /**
+   * Returns the number of times the shoe has been shuffled, counting the
+   * first shuffle and the shuffles in the middle of a round.
+   *
+   * @return The number of shuffles.
+   */
+  public long getShuffles() {
+    return shuffles;
+  }
+}
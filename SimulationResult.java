@@ -0,0 +1,221 @@
+package simulation;
+
+/**
+ * The outcome of a number of simulated rounds played by one set of rules.
+ * A tie is a round where both hands end on the same total without busting;
+ * the rules decide who wins it, so ties are also counted as wins or losses.
+ */
+public class SimulationResult {
+
+  // Final totals from 0 to 30; higher totals are counted in the last bucket.
+  private static final int TOTALS = 32;
+
+  private final String rules;
+  private long rounds;
+  private long playerWins;
+  private long dealerWins;
+  private long ties;
+  private long playerBusts;
+  private long dealerBusts;
+  private long elapsedNanos;
+  private final long[] playerTotals = new long[TOTALS];
+  private final long[] dealerTotals = new long[TOTALS];
+
+  /**
+   * Creates an empty result.
+   *
+   * @param rules The name of the rules that were played.
+   */
+  public SimulationResult(String rules) {
+    this.rules = rules;
+  }
+
+  void record(int playerScore, int dealerScore, boolean dealerWon, int maxScore) {
+    rounds++;
+    if (dealerWon) {
+      dealerWins++;
+    } else {
+      playerWins++;
+    }
+    if (playerScore > maxScore) {
+      playerBusts++;
+    }
+    if (dealerScore > maxScore) {
+      dealerBusts++;
+    }
+    if (playerScore == dealerScore && playerScore <= maxScore) {
+      ties++;
+    }
+    playerTotals[Math.min(playerScore, TOTALS - 1)]++;
+    dealerTotals[Math.min(dealerScore, TOTALS - 1)]++;
+  }
+
+  void addElapsedNanos(long nanos) {
+    elapsedNanos += nanos;
+  }
+
+  void setElapsedNanos(long nanos) {
+    elapsedNanos = nanos;
+  }
+
+  /**
+   * Adds the counts of another result, played by the same rules, to this one.
+   * The elapsed time is not added, since the results may have been played at
+   * the same time.
+   *
+   * @param other The result to add.
+   */
+  public void merge(SimulationResult other) {
+    rounds += other.rounds;
+    playerWins += other.playerWins;
+    dealerWins += other.dealerWins;
+    ties += other.ties;
+    playerBusts += other.playerBusts;
+    dealerBusts += other.dealerBusts;
+    for (int i = 0; i < TOTALS; i++) {
+      playerTotals[i] += other.playerTotals[i];
+      dealerTotals[i] += other.dealerTotals[i];
+    }
+  }
+
+  /**
+   * Returns how many rounds the player's hand ended on a total.
+   *
+   * @param total The final total.
+   * @return The number of rounds.
+   */
+  public long getPlayerTotalCount(int total) {
+    return playerTotals[Math.min(total, TOTALS - 1)];
+  }
+
+  /**
+   * Returns how many rounds the dealer's hand ended on a total.
+   *
+   * @param total The final total.
+   * @return The number of rounds.
+   */
+  public long getDealerTotalCount(int total) {
+    return dealerTotals[Math.min(total, TOTALS - 1)];
+  }
+
+  /**
+   * Returns the name of the rules that were played.
+   *
+   * @return The rules name.
+   */
+  public String getRules() {
+    return rules;
+  }
+
+  /**
+   * Returns the number of hands played, one per seat and round.
+   *
+   * @return The number of hands.
+   */
+  public long getRounds() {
+    return rounds;
+  }
+
+  /**
+   * Returns the number of rounds won by the player.
+   *
+   * @return The number of player wins.
+   */
+  public long getPlayerWins() {
+    return playerWins;
+  }
+
+  /**
+   * Returns the number of rounds won by the dealer.
+   *
+   * @return The number of dealer wins.
+   */
+  public long getDealerWins() {
+    return dealerWins;
+  }
+
+  /**
+   * Returns the share of rounds won by the player.
+   *
+   * @return The win rate.
+   */
+  public double getWinRate() {
+    return rate(playerWins);
+  }
+
+  /**
+   * Returns the share of rounds won by the dealer.
+   *
+   * @return The loss rate.
+   */
+  public double getLossRate() {
+    return rate(dealerWins);
+  }
+
+  /**
+   * Returns the share of rounds that ended in a tie.
+   *
+   * @return The tie rate.
+   */
+  public double getTieRate() {
+    return rate(ties);
+  }
+
+  /**
+   * Returns the share of rounds where the player went over 21.
+   *
+   * @return The player bust rate.
+   */
+  public double getPlayerBustRate() {
+    return rate(playerBusts);
+  }
+
+  /**
+   * Returns the share of rounds where the dealer went over 21.
+   *
+   * @return The dealer bust rate.
+   */
+  public double getDealerBustRate() {
+    return rate(dealerBusts);
+  }
+
+  /**
+   * Returns the house edge for an even money bet: the share of the stake the
+   * player loses per round on average.
+   *
+   * @return The house edge, negative if the player comes out ahead.
+   */
+  public double getHouseEdge() {
+    return rate(dealerWins - playerWins);
+  }
+
+  /**
+   * Returns the number of rounds played per second.
+   *
+   * @return The rounds per second.
+   */
+  public double getHandsPerSecond() {
+    return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+  }
+
+  private double rate(long count) {
+    return rounds == 0 ? 0 : (double) count / rounds;
+  }
+
+  /**
+   * Returns the column headers matching {@link #toString()}.
+   *
+   * @return The header line.
+   */
+  public static String header() {
+    return String.format("%-40s %12s %12s %7s %7s %7s %7s %7s %8s",
+        "rules", "hands", "hands/s", "win", "loss", "tie", "p.bust", "d.bust", "edge");
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%-40s %12d %12.0f %7.4f %7.4f %7.4f %7.4f %7.4f %+8.4f",
+        rules, rounds, getHandsPerSecond(), getWinRate(), getLossRate(), getTieRate(),
+        getPlayerBustRate(), getDealerBustRate(), getHouseEdge());
+  }
+}
@@ -0,0 +1,132 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import model.Dealer;
+import model.MultiSeatGame;
+import model.Player;
+import model.RandomSource;
+import model.rules.RulesFactory;
+
+/**
+ * Plays rounds of Blackjack without a view, letting a policy make the
+ * players' decisions. A table can have several seats; every seat plays one
+ * hand per round and is counted as one hand in the result. No observers are attached, so nothing is printed and
+ * nothing waits while the rounds are played.
+ */
+public class Simulator {
+
+  private final RulesFactory rules;
+  private final PlayerPolicy policy;
+  private final int seats;
+
+  /**
+   * Creates a simulator for a table with one seat.
+   *
+   * @param rules  The rules to play by.
+   * @param policy The policy that plays the player's hand.
+   */
+  public Simulator(RulesFactory rules, PlayerPolicy policy) {
+    this(rules, policy, 1);
+  }
+
+  /**
+   * Creates a simulator.
+   *
+   * @param rules  The rules to play by.
+   * @param policy The policy that plays every seat's hand.
+   * @param seats  The number of seats at the table.
+   */
+  public Simulator(RulesFactory rules, PlayerPolicy policy, int seats) {
+    this.rules = rules;
+    this.policy = policy;
+    this.seats = seats;
+  }
+
+  /**
+   * Plays a number of rounds.
+   *
+   * @param rounds The number of rounds to play.
+   * @return The outcome of the hands played.
+   */
+  public SimulationResult run(long rounds) {
+    return run(rounds, rules.getRandomSource());
+  }
+
+  /**
+   * Plays a number of rounds, shuffling with the given random source.
+   *
+   * @param rounds The number of rounds to play.
+   * @param random The random source to shuffle with.
+   * @return The outcome of the rounds.
+   */
+  public SimulationResult run(long rounds, RandomSource random) {
+    SimulationResult result = new SimulationResult(rules.toString());
+    play(rounds, random, result);
+    return result;
+  }
+
+  /**
+   * Plays a number of rounds and adds their outcome to a result.
+   *
+   * @param rounds The number of rounds to play.
+   * @param random The random source to shuffle with.
+   * @param result The result to add to.
+   */
+  void play(long rounds, RandomSource random, SimulationResult result) {
+    MultiSeatGame table = new MultiSeatGame(new Dealer(rules, random), seats);
+
+    long start = System.nanoTime();
+    for (long i = 0; i < rounds; i++) {
+      playRound(table, result);
+    }
+    table.getDealer().flushMetrics();
+    result.addElapsedNanos(System.nanoTime() - start);
+  }
+
+  String getRulesName() {
+    return rules.toString();
+  }
+
+  private void playRound(MultiSeatGame table, SimulationResult result) {
+    table.newGame();
+    Dealer dealer = table.getDealer();
+    int dealerScore = dealer.calcScore();
+    for (int seat = 0; seat < seats; seat++) {
+      Player player = table.getSeat(seat);
+      while (policy.doHit(player.getHandValue(), dealerScore) && table.hit(seat)) {
+        // keep hitting
+      }
+      table.stand(seat);
+    }
+    for (int seat = 0; seat < seats; seat++) {
+      Player player = table.getSeat(seat);
+      result.record(player.calcScore(), dealer.calcScore(), table.isDealerWinner(seat), player.getMaxScore());
+    }
+  }
+
+  /**
+   * Simulates every combination of rules and prints a report. The player
+   * follows the decisions in {@value DecisionTable#DEFAULT_FILE} if that file
+   * exists, and the simplified basic strategy otherwise.
+   *
+   * @param args Optional number of rounds per combination and number of seats.
+   * @throws IOException If the decision table cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+    int seats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+    DecisionTable table = null;
+    if (Files.exists(Paths.get(DecisionTable.DEFAULT_FILE))) {
+      table = DecisionTable.load(Paths.get(DecisionTable.DEFAULT_FILE));
+    }
+
+    System.out.println(SimulationResult.header());
+    for (RulesFactory rules : RulesFactory.allCombinations()) {
+      PlayerPolicy policy = table != null ? table.policy(rules) : PlayerPolicy.basic();
+      System.out.println(new Simulator(rules, policy, seats).run(rounds));
+    }
+  }
+}
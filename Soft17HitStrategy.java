@@ -1,16 +1,34 @@
 package model.rules;
 
-import model.Card;
+import model.HandValue;
 import model.Player;
 
 /**
  * Implements the Soft 17 hit strategy for the dealer in Blackjack.
  * According to this rule, the dealer hits on a soft 17, which is a hand
- * containing an Ace valued as 11 and a six.
+ * totalling 17 with an Ace still counted as 11 (e.g. Ace and six, or Ace,
+ * two and four).
  */
 public class Soft17HitStrategy implements HitStrategy {
   // Define the hit limit.
-  private static final int hitLimit = 17;
+  private final int hitLimit;
+
+  /**
+   * Creates the strategy with the usual limit of 17.
+   */
+  public Soft17HitStrategy() {
+    this(17);
+  }
+
+  /**
+   * Creates the strategy for another limit than 17: the dealer hits below
+   * the limit and on a soft total equal to it.
+   *
+   * @param hitLimit The score the dealer stands on when it is hard.
+   */
+  public Soft17HitStrategy(int hitLimit) {
+    this.hitLimit = hitLimit;
+  }
 
   /**
    * Determines if the dealer should take another card based on the Soft 17 rule.
@@ -21,40 +39,14 @@ public class Soft17HitStrategy implements HitStrategy {
    */
   @Override
   public boolean doHit(Player dealer) {
-    // Check if dealer's score is below 17; if so, dealer should hit.
-    if (dealer.calcScore() < hitLimit) {
-      return true;
-    }
+    HandValue value = dealer.getHandValue();
 
-    // Check for a soft 17 (17 with an Ace counted as 11 and a six).
-    if (dealer.calcScore() == hitLimit && isSoft17(dealer)) {
+    // Check if dealer's score is below the limit; if so, dealer should hit.
+    if (value.getTotal() < hitLimit) {
       return true;
     }
 
-    // Dealer should stand on hard 17 or above.
-    return false;
-  }
-
-  /**
-   * Helper method to check if the dealer has a "soft 17" (Ace and six).
-   *
-   * @param dealer The dealer whose hand is being evaluated.
-   * @return True if the dealer has a soft 17, false otherwise.
-   */
-  private boolean isSoft17(Player dealer) {
-    boolean hasAce = false;
-    boolean hasSix = false;
-
-    // Iterate through dealer's hand to check for an Ace and a Six.
-    for (Card card : dealer.getHand()) {
-      if (card.getValue() == Card.Value.Ace) {
-        hasAce = true;
-      } else if (card.getValue() == Card.Value.Six) {
-        hasSix = true;
-      }
-    }
-
-    // Soft 17 is defined as having both an Ace (valued as 11) and a Six.
-    return hasAce && hasSix;
+    // Dealer hits a soft total at the limit and stands on a hard one or above.
+    return value.getTotal() == hitLimit && value.isSoft();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * A seeded random source backed by {@link SplittableRandom}.
+ */
+final class SplittableRandomSource implements RandomSource {
+
+  private final SplittableRandom random;
+
+  SplittableRandomSource(long seed) {
+    this(new SplittableRandom(seed));
+  }
+
+  private SplittableRandomSource(SplittableRandom random) {
+    this.random = random;
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  @Override
+  public RandomSource split() {
+    return new SplittableRandomSource(random.split());
+  }
+}
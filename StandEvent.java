@@ -0,0 +1,27 @@
+package metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The dealer's turn after the players have stood, up to the game over
+ * notification.
+ */
+@Name("blackjack.Stand")
+@Label("Stand")
+@Description("The dealer's turn and the end of the round")
+public final class StandEvent extends TableEvent {
+
+  /** The number of cards the dealer took in their turn. */
+  @Label("Dealer Cards Taken")
+  public int dealerCardsTaken;
+
+  /** The dealer's final score. */
+  @Label("Dealer Score")
+  public int dealerScore;
+
+  /** The number of cards dealt from the deck so far this round. */
+  @Label("Cards Dealt")
+  public int cardsDealt;
+}
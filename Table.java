@@ -0,0 +1,119 @@
+package server;
+
+import model.MultiSeatGame;
+import model.rules.RulesFactory;
+import view.Command;
+
+/**
+ * One table on the server: a game of its own, played by one connection.
+ * A table has one seat unless the connection asks for more; HIT and STAND
+ * always apply to the first seat that has not stood yet, and the dealer
+ * plays once all seats have stood. Commands on a table are handled one at
+ * a time; tables share nothing, so commands on different tables never wait
+ * for each other.
+ */
+final class Table {
+
+  private final long id;
+  private final RulesFactory rules;
+  private final StringBuilder line = new StringBuilder(128);
+  private MultiSeatGame game;
+  private int playerWins;
+  private int dealerWins;
+  private boolean played;
+
+  Table(long id, RulesFactory rules) {
+    this.id = id;
+    this.rules = rules;
+    this.game = new MultiSeatGame(rules, 1);
+    game.getDealer().setTableId(id);
+  }
+
+  long getId() {
+    return id;
+  }
+
+  /**
+   * Adds the counts of the table's last rounds to the metrics, when the
+   * connection goes away.
+   */
+  synchronized void close() {
+    game.getDealer().flushMetrics();
+  }
+
+  /**
+   * Changes the number of seats, between rounds.
+   *
+   * @param seats The number of seats.
+   * @return The reply, without a line break.
+   */
+  synchronized String setSeats(int seats) {
+    line.setLength(0);
+    if (!game.isGameOver()) {
+      return error("Cannot change seats while playing.");
+    }
+    if (seats < 1 || seats > MultiSeatGame.MAX_SEATS) {
+      return error("A table has 1 to " + MultiSeatGame.MAX_SEATS + " seats.");
+    }
+    playerWins += game.getPlayerWins();
+    dealerWins += game.getDealerWins();
+    game.getDealer().flushMetrics();
+    game = new MultiSeatGame(rules, seats);
+    game.getDealer().setTableId(id);
+    played = false;
+    return ok();
+  }
+
+  /**
+   * Handles one command and returns the reply line.
+   *
+   * @param command The command.
+   * @return The reply, without a line break.
+   */
+  synchronized String handle(Command command) {
+    line.setLength(0);
+    switch (command) {
+      case PLAY:
+        if (!game.newGame()) {
+          return error("Cannot start a new game while playing.");
+        }
+        played = true;
+        return ok();
+      case HIT:
+        if (game.isGameOver() || !game.hit(activeSeat())) {
+          return error("Cannot take a card now.");
+        }
+        return ok();
+      case STAND:
+        if (game.isGameOver() || !game.stand(activeSeat())) {
+          return error("No game to stand in.");
+        }
+        return ok();
+      case QUIT:
+        return line.append("BYE ").append(playerWins + game.getPlayerWins()).append(' ')
+            .append(dealerWins + game.getDealerWins()).toString();
+      default:
+        return error("Invalid command, use PLAY, HIT, STAND, QUIT or SEATS n.");
+    }
+  }
+
+  private int activeSeat() {
+    int seat = 0;
+    while (seat < game.getSeatCount() - 1 && game.isStanding(seat)) {
+      seat++;
+    }
+    return seat;
+  }
+
+  private String ok() {
+    line.append("OK ");
+    Protocol.appendState(line, game, played);
+    return line.toString();
+  }
+
+  private String error(String message) {
+    line.append("ERR ").append(message).append(" | ");
+    Protocol.appendState(line, game, played);
+    return line.toString();
+  }
+}
@@ -0,0 +1,27 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The fields shared by the flight recorder events of a table. The events are
+ * created, begun and committed in place, and fields are only set once
+ * {@link #shouldCommit()} is true, so they cost nothing while no recording
+ * has them enabled.
+ */
+@Category("Blackjack")
+@StackTrace(false)
+public abstract class TableEvent extends Event {
+
+  /** The table on the server, or 0 for a game that is not a server table. */
+  @Label("Table")
+  @Description("The server table, 0 if the game is not played on the server")
+  public long tableId;
+
+  /** The name of the rule set. */
+  @Label("Rules")
+  public String rules;
+}
@@ -0,0 +1,55 @@
+package server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import model.rules.RulesFactory;
+
+/**
+ * Keeps track of the open tables on the server.
+ */
+final class TableRegistry {
+
+  private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong(1);
+  private final RulesFactory rules;
+
+  /**
+   * Creates a registry whose tables all play by the rules of one factory.
+   *
+   * @param rules The rules.
+   */
+  TableRegistry(RulesFactory rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Opens a new table.
+   *
+   * @return The table.
+   */
+  Table open() {
+    Table table = new Table(nextId.getAndIncrement(), rules);
+    tables.put(table.getId(), table);
+    return table;
+  }
+
+  /**
+   * Closes a table.
+   *
+   * @param table The table.
+   */
+  void close(Table table) {
+    tables.remove(table.getId());
+    table.close();
+  }
+
+  /**
+   * Returns the number of open tables.
+   *
+   * @return The number of tables.
+   */
+  int size() {
+    return tables.size();
+  }
+}
@@ -0,0 +1,36 @@
+package server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the executors the server runs connections on.
+ */
+final class Threads {
+
+  private Threads() {
+  }
+
+  /**
+   * Returns an executor that starts a new thread for every task: a virtual
+   * thread on JDKs that have them (21 and later), otherwise a platform
+   * daemon thread.
+   *
+   * @param name The prefix for the names of platform threads.
+   * @return The executor.
+   */
+  static ExecutorService newThreadPerTaskExecutor(String name) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      AtomicLong count = new AtomicLong();
+      return Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(null, task, name + "-" + count.incrementAndGet(), 256 * 1024);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
@@ -75,7 +75,8 @@ public interface View extends GameObserver {
   void displaySummary(int playerWins, int dealerWins);
 
   /**
-   * Pauses briefly to make the game more exciting.
+   * Shows what has been rendered so far and pauses briefly to make the game
+   * more exciting. How long is up to the view's pacer.
    */
   void pause();
 
@@ -0,0 +1,101 @@
+package model;
+
+/**
+ * A seeded xoshiro256** random source. The state is seeded with SplitMix64,
+ * and {@link #split()} uses the xoshiro jump function so that split streams
+ * do not overlap.
+ */
+final class XoshiroRandomSource implements RandomSource {
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private static final long[] JUMP = {
+    0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+  };
+
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  XoshiroRandomSource(long seed) {
+    s0 = splitMix(seed + GOLDEN_GAMMA);
+    s1 = splitMix(seed + 2 * GOLDEN_GAMMA);
+    s2 = splitMix(seed + 3 * GOLDEN_GAMMA);
+    s3 = splitMix(seed + 4 * GOLDEN_GAMMA);
+  }
+
+  private XoshiroRandomSource(XoshiroRandomSource another) {
+    s0 = another.s0;
+    s1 = another.s1;
+    s2 = another.s2;
+    s3 = another.s3;
+  }
+
+  private static long splitMix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private long nextLong() {
+    long result = Long.rotateLeft(s1 * 5, 7) * 9;
+    long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+    return result;
+  }
+
+  /**
+   * Lemire's multiply and shift, rejecting the few values that would bias the result.
+   */
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    long m = (nextLong() >>> 32) * bound;
+    long low = m & 0xffffffffL;
+    if (low < bound) {
+      long threshold = (0x100000000L - bound) % bound;
+      while (low < threshold) {
+        m = (nextLong() >>> 32) * bound;
+        low = m & 0xffffffffL;
+      }
+    }
+    return (int) (m >>> 32);
+  }
+
+  /**
+   * Returns a source starting at the current state and jumps this source
+   * 2^128 steps ahead.
+   */
+  @Override
+  public RandomSource split() {
+    XoshiroRandomSource copy = new XoshiroRandomSource(this);
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    for (long jump : JUMP) {
+      for (int b = 0; b < 64; b++) {
+        if ((jump & (1L << b)) != 0) {
+          t0 ^= s0;
+          t1 ^= s1;
+          t2 ^= s2;
+          t3 ^= s3;
+        }
+        nextLong();
+      }
+    }
+    s0 = t0;
+    s1 = t1;
+    s2 = t2;
+    s3 = t3;
+    return copy;
+  }
+}